@@ -0,0 +1,73 @@
+package ctu.game.isometric.bench;
+
+import ctu.game.isometric.controller.EventManager;
+import ctu.game.isometric.model.world.IsometricMap;
+import ctu.game.isometric.model.world.MapEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// checkPositionEvents is called every time the character steps onto a tile. Most steps hit no
+// event ("miss"); "hit" queries the event tiles of the default map.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {HeadlessGame.HEAP_MIN, HeadlessGame.HEAP_MAX, HeadlessGame.DICTIONARY})
+@State(Scope.Benchmark)
+public class EventLookupBenchmark {
+    private static final int POSITIONS = 256;
+    private static final long SEED = 7L;
+
+    private IsometricMap map;
+    private EventManager eventManager;
+    private final float[] missPositions = new float[POSITIONS * 2];
+    private float[] hitPositions;
+    private int nextMiss = 0;
+    private int nextHit = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGame.start();
+        map = new IsometricMap(HeadlessGame.DEFAULT_MAP);
+        eventManager = new EventManager(map);
+
+        Random random = new Random(SEED);
+        int found = 0;
+        while (found < POSITIONS) {
+            float x = random.nextInt(map.getMapWidth()) + 0.5f;
+            float y = random.nextInt(map.getMapHeight()) + 0.5f;
+            if (eventManager.checkPositionEvents(x, y) != null) continue;
+            missPositions[found * 2] = x;
+            missPositions[found * 2 + 1] = y;
+            found++;
+        }
+
+        hitPositions = new float[Math.max(1, eventManager.getEvents().size()) * 2];
+        int i = 0;
+        for (MapEvent event : eventManager.getEvents().values()) {
+            hitPositions[i++] = event.getGridX() + 0.5f;
+            hitPositions[i++] = event.getGridY() + 0.5f;
+        }
+    }
+
+    @Benchmark
+    public MapEvent miss() {
+        int p = nextMiss * 2;
+        nextMiss = (nextMiss + 1) % POSITIONS;
+        return eventManager.checkPositionEvents(missPositions[p], missPositions[p + 1]);
+    }
+
+    @Benchmark
+    public MapEvent hit() {
+        int p = nextHit * 2;
+        nextHit = (nextHit + 1) % (hitPositions.length / 2);
+        return eventManager.checkPositionEvents(hitPositions[p], hitPositions[p + 1]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.getTiledMap().dispose();
+    }
+}
@@ -0,0 +1,32 @@
+package ctu.game.isometric.bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+// Brings up libGDX without a window so the game classes can be driven from a benchmark.
+// The headless backend installs a mock GL, so map loading (tileset textures) works as in the game.
+public final class HeadlessGame {
+    // Same JVM settings for every fork, so numbers stay comparable across runs and releases
+    public static final String HEAP_MIN = "-Xms1g";
+    public static final String HEAP_MAX = "-Xmx1g";
+    // Benchmarks run from benchmarks/, the WordNet files are read straight from the game's resources
+    public static final String DICTIONARY = "-Disometric.dict=../src/main/resources/game/dict";
+
+    public static final String DEFAULT_MAP = "maps/untitled1.tmx";
+
+    private static HeadlessApplication application;
+
+    private HeadlessGame() {
+    }
+
+    public static synchronized void start() {
+        if (application != null) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // no render loop, the benchmark thread drives everything
+        application = new HeadlessApplication(new ApplicationAdapter() {
+        }, config);
+        Gdx.app.setLogLevel(com.badlogic.gdx.Application.LOG_ERROR);
+    }
+}
@@ -0,0 +1,37 @@
+package ctu.game.isometric.bench;
+
+import ctu.game.isometric.model.world.IsometricMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Loading the default map as the game does: TMX parse, tileset textures, tile/walkability data
+// (from the binary sidecar after the first load) and the connectivity index.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 2, jvmArgsAppend = {HeadlessGame.HEAP_MIN, HeadlessGame.HEAP_MAX, HeadlessGame.DICTIONARY})
+@State(Scope.Benchmark)
+public class MapLoadBenchmark {
+    private IsometricMap map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGame.start();
+    }
+
+    @Benchmark
+    public IsometricMap loadMap() {
+        map = new IsometricMap(HeadlessGame.DEFAULT_MAP);
+        return map;
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeMap() {
+        if (map != null) {
+            map.getTiledMap().dispose();
+            map = null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ctu.game.isometric.bench;
+
+import com.badlogic.gdx.utils.Array;
+import ctu.game.isometric.controller.JumpPointPathfinder;
+import ctu.game.isometric.controller.Pathfinder;
+import ctu.game.isometric.model.world.IsometricMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// findPath over a fixed set of reachable start/goal pairs on the default map: the pre-rewrite A*
+// (LegacyPathfinder, the "before" number), the current A* and JPS.
+// Pairs come from a seeded Random, so every run searches the same routes. Besides latency, the
+// Expansions counters report the nodes each strategy expanded: expandedNodes / searches is the
+// average per route. Each trial first runs PathfindingCheck, so the numbers are only reported for
+// planners that return A*-length routes.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {HeadlessGame.HEAP_MIN, HeadlessGame.HEAP_MAX, HeadlessGame.DICTIONARY})
+@State(Scope.Benchmark)
+public class PathfindingBenchmark {
+    private static final int QUERIES = 64;
+    private static final long SEED = 20240501L;
+    private static final int MAX_LENGTH = 10_000;
+
+    @Param({"legacy", "astar", "jps"})
+    public String strategy;
+
+    private IsometricMap map;
+    private Pathfinder pathfinder;     // astar, jps
+    private LegacyPathfinder legacy;   // legacy
+    private final int[] queries = new int[QUERIES * 4];
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGame.start();
+        // Fails the trial if JPS or the connectivity index disagree with plain A*
+        PathfindingCheck.verify(HeadlessGame.DEFAULT_MAP, SEED);
+        map = new IsometricMap(HeadlessGame.DEFAULT_MAP);
+        if ("legacy".equals(strategy)) {
+            legacy = new LegacyPathfinder(map);
+        } else {
+            pathfinder = "jps".equals(strategy) ? new JumpPointPathfinder(map) : new Pathfinder(map);
+        }
+
+        Random random = new Random(SEED);
+        int width = map.getMapWidth();
+        int height = map.getMapHeight();
+        int found = 0;
+        while (found < QUERIES) {
+            int sx = random.nextInt(width), sy = random.nextInt(height);
+            int gx = random.nextInt(width), gy = random.nextInt(height);
+            if (!map.isWalkable(sx, sy) || !map.isWalkable(gx, gy) || !map.isConnected(sx, sy, gx, gy)) continue;
+            queries[found * 4] = sx;
+            queries[found * 4 + 1] = sy;
+            queries[found * 4 + 2] = gx;
+            queries[found * 4 + 3] = gy;
+            found++;
+        }
+    }
+
+    // Totals per iteration, listed next to the score in the JMH results
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Expansions {
+        public long expandedNodes;
+        public long searches;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            expandedNodes = 0;
+            searches = 0;
+        }
+    }
+
+    @Benchmark
+    public void findPath(Expansions expansions, Blackhole blackhole) {
+        int q = next * 4;
+        next = (next + 1) % QUERIES;
+        Array<int[]> path;
+        if (legacy != null) {
+            path = legacy.findPath(queries[q], queries[q + 1], queries[q + 2], queries[q + 3], MAX_LENGTH);
+            expansions.expandedNodes += legacy.getExpandedNodes();
+        } else {
+            path = pathfinder.findPath(queries[q], queries[q + 1], queries[q + 2], queries[q + 3], MAX_LENGTH);
+            expansions.expandedNodes += pathfinder.getExpandedNodes();
+        }
+        expansions.searches++;
+        blackhole.consume(path.size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.getTiledMap().dispose();
+    }
+}
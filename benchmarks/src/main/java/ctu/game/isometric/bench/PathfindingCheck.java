@@ -0,0 +1,74 @@
+package ctu.game.isometric.bench;
+
+import com.badlogic.gdx.utils.Array;
+import ctu.game.isometric.controller.JumpPointPathfinder;
+import ctu.game.isometric.controller.Pathfinder;
+import ctu.game.isometric.model.world.IsometricMap;
+
+import java.util.Random;
+
+// Correctness checks PathfindingBenchmark runs before measuring, so a broken planner fails the trial
+// instead of reporting a fast number. On seeded random pairs, on the map as shipped and again after
+// walling off random tiles:
+//  - JumpPointPathfinder returns routes exactly as long as plain A*
+//  - ConnectivityIndex.isConnected agrees with whether a full A* search reaches the goal
+final class PathfindingCheck {
+    private static final int PAIRS = 200;
+    private static final float WALL_DENSITY = 0.3f;
+
+    private PathfindingCheck() {
+    }
+
+    static void verify(String tmxPath, long seed) {
+        IsometricMap map = new IsometricMap(tmxPath);
+        try {
+            Random random = new Random(seed);
+            check(map, random, "map");
+
+            // Random walls split the map into many regions and exercise the incremental relabelling
+            int width = map.getMapWidth();
+            int height = map.getMapHeight();
+            int walls = (int) (width * height * WALL_DENSITY);
+            for (int i = 0; i < walls; i++) {
+                map.setWalkable(random.nextInt(width), random.nextInt(height), false);
+            }
+            check(map, random, "random walls");
+        } finally {
+            map.getTiledMap().dispose();
+        }
+    }
+
+    private static void check(IsometricMap map, Random random, String label) {
+        Pathfinder astar = new Pathfinder(map);
+        JumpPointPathfinder jps = new JumpPointPathfinder(map);
+        int width = map.getMapWidth();
+        int height = map.getMapHeight();
+
+        int pairs = 0, connected = 0;
+        while (pairs < PAIRS) {
+            int sx = random.nextInt(width), sy = random.nextInt(height);
+            int gx = random.nextInt(width), gy = random.nextInt(height);
+            if (!map.isWalkable(sx, sy) || !map.isWalkable(gx, gy)) continue;
+            pairs++;
+
+            // Unconnected goals are retargeted inside the start's region (or rejected), so the
+            // search only reaches the exact goal tile when the two are connected
+            Array<int[]> path = astar.findPath(sx, sy, gx, gy, Integer.MAX_VALUE);
+            boolean reached = path.size > 0 && path.peek()[0] == gx && path.peek()[1] == gy;
+            if (reached != map.isConnected(sx, sy, gx, gy)) {
+                throw new IllegalStateException(label + ": isConnected(" + sx + "," + sy + " -> " + gx + "," + gy
+                        + ") = " + !reached + " but A* " + (reached ? "reached" : "did not reach") + " the goal");
+            }
+            if (!reached) continue;
+            connected++;
+
+            Array<int[]> jumped = jps.findPath(sx, sy, gx, gy, Integer.MAX_VALUE);
+            if (jumped.size != path.size) {
+                throw new IllegalStateException(label + ": JPS route " + sx + "," + sy + " -> " + gx + "," + gy
+                        + " has " + jumped.size + " tiles, A* has " + path.size);
+            }
+        }
+        System.out.println("PathfindingCheck " + label + ": " + pairs + " pairs, " + connected
+                + " connected, JPS lengths and connectivity match A*");
+    }
+}
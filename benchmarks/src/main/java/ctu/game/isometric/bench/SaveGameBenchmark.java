@@ -0,0 +1,54 @@
+package ctu.game.isometric.bench;
+
+import com.badlogic.gdx.Gdx;
+import ctu.game.isometric.controller.EventManager;
+import ctu.game.isometric.controller.GameSaveController;
+import ctu.game.isometric.model.entity.Character;
+import ctu.game.isometric.model.world.IsometricMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// A full saveGame: serialize, checksum, encrypt and write the save plus the learned-word file.
+// Files go to saves/ under the working directory (benchmarks/), never the game's own saves.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {HeadlessGame.HEAP_MIN, HeadlessGame.HEAP_MAX, HeadlessGame.DICTIONARY})
+@State(Scope.Benchmark)
+public class SaveGameBenchmark {
+    private static final int LEARNED_WORDS = 500;
+
+    private IsometricMap map;
+    private EventManager eventManager;
+    private GameSaveController saveController;
+    private Character character;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGame.start();
+        map = new IsometricMap(HeadlessGame.DEFAULT_MAP);
+        eventManager = new EventManager(map);
+        saveController = new GameSaveController();
+
+        character = new Character(10, 10);
+        character.setName("Benchmark");
+        character.setWordFilePath("benchmark");
+        // A player deep into the game, with a sizeable dictionary to write out
+        for (int i = 0; i < LEARNED_WORDS; i++) {
+            character.addLearnedWord("WORD" + i);
+        }
+    }
+
+    @Benchmark
+    public boolean saveGame() {
+        return saveController.saveGame(character, "Benchmark_save", eventManager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Gdx.files.local("saves/").deleteDirectory();
+        map.getTiledMap().dispose();
+    }
+}
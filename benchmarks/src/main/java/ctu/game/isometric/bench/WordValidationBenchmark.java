@@ -0,0 +1,100 @@
+package ctu.game.isometric.bench;
+
+import ctu.game.isometric.util.WordNetValidator;
+import edu.mit.jwi.Dictionary;
+import edu.mit.jwi.IDictionary;
+import edu.mit.jwi.item.POS;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// WordNet lookups as the combat screen does them. The word set mixes real words with letter soup
+// from the grid; in "cold" mode there are more distinct words than the validator's LRU holds, so
+// every lookup reaches the dictionary, "warm" repeats a handful of words.
+// isValidWord walks the compiled lexicon; jwiIndexLookup is the per-POS JWI search it replaced.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {HeadlessGame.HEAP_MIN, HeadlessGame.HEAP_MAX, HeadlessGame.DICTIONARY})
+@State(Scope.Benchmark)
+public class WordValidationBenchmark {
+    private static final String[] REAL_WORDS = {
+            "CAT", "DOG", "TREE", "HOUSE", "WATER", "LIGHT", "STONE", "RIVER", "SWORD", "MAGIC",
+            "APPLE", "BREAD", "CLOUD", "DREAM", "EARTH", "FLAME", "GHOST", "HEART", "IVORY", "JEWEL",
+            "KNIGHT", "LEMON", "MONEY", "NIGHT", "OCEAN", "PLANT", "QUEEN", "ROBOT", "SNAKE", "TIGER",
+            "UNCLE", "VOICE", "WHALE", "YOUTH", "ZEBRA", "ARROW", "BEACH", "CHAIR", "DANCE", "EAGLE",
+            "FROST", "GRAPE", "HORSE", "IRON", "JUDGE", "KING", "LAKE", "MOON", "NEST", "OWL",
+            "PEARL", "QUIET", "RAIN", "SAND", "TOWER", "UNITY", "VALLEY", "WIND", "YARD", "ZONE"
+    };
+    private static final int WORDS = 256;
+    private static final long SEED = 42L;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private WordNetValidator validator;
+    private IDictionary jwi;
+    private String[] words;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        HeadlessGame.start();
+        validator = new WordNetValidator();
+        validator.loadDictionary();
+        jwi = new Dictionary(new File(System.getProperty("isometric.dict")).toURI().toURL());
+        jwi.open();
+
+        // Half real words, half random 3-6 letter strings like a player tapping the grid
+        Random random = new Random(SEED);
+        int distinct = "warm".equals(cache) ? 16 : WORDS;
+        String[] pool = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            if (i % 2 == 0) {
+                int real = i / 2;
+                pool[i] = REAL_WORDS[real % REAL_WORDS.length] + (real >= REAL_WORDS.length ? "S" : "");
+            } else {
+                char[] letters = new char[3 + random.nextInt(4)];
+                for (int c = 0; c < letters.length; c++) letters[c] = (char) ('A' + random.nextInt(26));
+                pool[i] = new String(letters);
+            }
+        }
+        // warm: the same 16 words over and over
+        words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) words[i] = pool[i % distinct];
+    }
+
+    @Benchmark
+    public boolean isValidWord() {
+        String word = words[next];
+        next = (next + 1) % WORDS;
+        return validator.isValidWord(word);
+    }
+
+    @Benchmark
+    public boolean jwiIndexLookup() {
+        String word = words[next];
+        next = (next + 1) % WORDS;
+        String lower = word.toLowerCase();
+        for (POS pos : POS.values()) {
+            if (jwi.getIndexWord(lower, pos) != null) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void getWordDetails(Blackhole blackhole) {
+        String word = REAL_WORDS[next % REAL_WORDS.length];
+        next = (next + 1) % WORDS;
+        blackhole.consume(validator.getWordDetails(word));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jwi.close();
+    }
+}
@@ -5,17 +5,22 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import ctu.game.isometric.controller.GameController;
 import ctu.game.isometric.util.AssetManager;
+import ctu.game.isometric.util.FrameProfiler;
 import ctu.game.isometric.view.screen.GameScreen;
 import ctu.game.isometric.view.screen.SplashScreen;
+import ctu.game.isometric.view.ui.FrameStatsOverlay;
 
 public class IsometricGame extends Game {
     private AssetManager assetManager;
     private GameController gameController;
     private GameScreen gameScreen;
+    private FrameStatsOverlay frameStats;
+    private final FrameProfiler frameProfiler = new FrameProfiler();
     @Override
     public void create() {
         assetManager = new AssetManager();
         assetManager.loadAssets();
+        frameStats = new FrameStatsOverlay(assetManager, frameProfiler);
         Gdx.graphics.setVSync(true); // hoặc false để tắt
         gameController = new GameController(this);
         setScreen(new SplashScreen(this, gameController));
@@ -23,9 +28,15 @@ public class IsometricGame extends Game {
 
     @Override
     public void render() {
+        frameProfiler.beginFrame();
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         super.render();
+        frameStats.render();
+    }
+
+    public FrameProfiler getFrameProfiler() {
+        return frameProfiler;
     }
 
     public AssetManager getAssetManager() {
@@ -34,6 +45,9 @@ public class IsometricGame extends Game {
 
     @Override
     public void dispose() {
+        // Keep the parsed word details for the next run
+        gameController.getWordNetValidator().saveDetailCache();
+        frameStats.dispose();
         assetManager.dispose();
         super.dispose();
     }
@@ -0,0 +1,87 @@
+package ctu.game.isometric.controller;
+
+import com.badlogic.gdx.Gdx;
+import ctu.game.isometric.model.dictionary.Word;
+import ctu.game.isometric.util.WordNetValidator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resolves the player's learned words to full Word details on a small worker pool after a save is
+// loaded, instead of one by one on the render thread. Terms are split into batches; each finished
+// batch is handed back with Gdx.app.postRunnable, so the Dictionary and its view fill in while the
+// game keeps running. Words already in the detail cache come back almost immediately.
+// A newer load supersedes the previous one; batches of the old load are dropped when they arrive.
+public class DictionaryLoader {
+    private static final int BATCH_SIZE = 64;
+    private static final int MAX_WORKERS = 4;
+
+    // Called on the render thread
+    public interface Listener {
+        void onBatch(List<Word> words, int resolved, int total);
+
+        void onComplete(int total);
+    }
+
+    private final WordNetValidator wordNetValidator;
+    private final ExecutorService executor;
+    private final AtomicInteger latestLoad = new AtomicInteger();
+
+    public DictionaryLoader(WordNetValidator wordNetValidator) {
+        this.wordNetValidator = wordNetValidator;
+        // Leave a core for the render thread; WordNet lookups are mostly I/O on the index files
+        int workers = Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "dictionary-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Called on the render thread. Returns at once; listener gets the words batch by batch.
+    public void load(Collection<String> terms, Listener listener) {
+        int id = latestLoad.incrementAndGet();
+        List<String> pending = new ArrayList<>(terms);
+        int total = pending.size();
+        if (total == 0) {
+            listener.onComplete(0);
+            return;
+        }
+
+        // Progress is only touched on the render thread, in arrival order
+        int[] resolved = {0};
+        for (int start = 0; start < total; start += BATCH_SIZE) {
+            List<String> batch = pending.subList(start, Math.min(total, start + BATCH_SIZE));
+            executor.execute(() -> {
+                if (latestLoad.get() != id) return; // superseded before it started
+
+                List<Word> words = new ArrayList<>(batch.size());
+                for (String term : batch) {
+                    Word word = wordNetValidator.getWordDetails(term);
+                    if (word != null) words.add(word);
+                }
+
+                Gdx.app.postRunnable(() -> {
+                    if (latestLoad.get() != id) return;
+                    resolved[0] += batch.size();
+                    listener.onBatch(words, resolved[0], total);
+                    if (resolved[0] == total) listener.onComplete(total);
+                });
+            });
+        }
+    }
+
+    // Drop whatever is queued; batches already running finish but are not published
+    public void cancel() {
+        latestLoad.incrementAndGet();
+    }
+
+    public void dispose() {
+        cancel();
+        executor.shutdownNow();
+    }
+}
@@ -5,10 +5,11 @@ import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
 import ctu.game.isometric.model.game.GameSave;
 import ctu.game.isometric.model.world.IsometricMap;
 import ctu.game.isometric.model.world.MapEvent;
-import org.lwjgl.openal.SOFTDeferredUpdates;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -19,7 +20,8 @@ import java.util.stream.Collectors;
 public class EventManager {
     private Map<String, MapEvent> events = new HashMap<>();
     private Map<Integer, Boolean> defeatedEnemies = new HashMap<>();
-
+    // Events by packed tile coordinate; an event covering several tiles is filed under each of them
+    private final IntMap<Array<MapEvent>> eventsByTile = new IntMap<>();
 
 
     public EventManager(IsometricMap map) {
@@ -35,6 +37,10 @@ public class EventManager {
                     Rectangle rect = ((RectangleMapObject) object).getRectangle();
                     int objGridX = (int) (rect.x / map.getTileWidth()) + 2;
                     int objGridY = (int) (rect.y / map.getTileHeight()) - 2;
+                    // Rectangles larger than a tile trigger on every tile they cover, point objects on one.
+                    // Sized in the same units as the origin above, so an event covers the tiles it starts on.
+                    int tilesWide = Math.max(1, Math.round(rect.width / map.getTileWidth()));
+                    int tilesHigh = Math.max(1, Math.round(rect.height / map.getTileHeight()));
 
                     MapProperties props = object.getProperties();
                     if (props.containsKey("event")) {
@@ -45,12 +51,33 @@ public class EventManager {
                         boolean isOneTime = false; // Declare and initialize outside the block
                         if (props.containsKey("one_time"))
                             isOneTime = getBooleanProperty(props, "one_time", false);
-                        events.put(eventId, new MapEvent(eventId, eventType, objGridX, objGridY, props,isOneTime));
+                        events.put(eventId, new MapEvent(eventId, eventType, objGridX, objGridY, tilesWide, tilesHigh, props, isOneTime));
                     }
                 }
             }
         }
+        rebuildIndex();
+    }
 
+    private static int tileKey(int x, int y) {
+        return (y << 16) | (x & 0xFFFF);
+    }
+
+    private void rebuildIndex() {
+        eventsByTile.clear();
+        for (MapEvent event : events.values()) {
+            for (int y = event.getGridY(); y < event.getGridY() + event.getHeight(); y++) {
+                for (int x = event.getGridX(); x < event.getGridX() + event.getWidth(); x++) {
+                    int key = tileKey(x, y);
+                    Array<MapEvent> tileEvents = eventsByTile.get(key);
+                    if (tileEvents == null) {
+                        tileEvents = new Array<>(false, 1);
+                        eventsByTile.put(key, tileEvents);
+                    }
+                    tileEvents.add(event);
+                }
+            }
+        }
     }
 
 
@@ -81,21 +108,43 @@ public class EventManager {
 
     // Check for events at a position
     public MapEvent checkPositionEvents(float x, float y) {
-        int gridX = (int) x;
-        int gridY = (int) y;
+        Array<MapEvent> tileEvents = eventsByTile.get(tileKey((int) x, (int) y));
+        if (tileEvents == null) return null;
+
+        for (int i = 0; i < tileEvents.size; i++) {
+            MapEvent event = tileEvents.get(i);
+            // For one-time events, check if already completed
+            if (event.isOneTime() &&
+                    event.isCompleted()) {
+                continue;
+            }
+            return event;
+        }
+        return null;
+    }
 
-        for (MapEvent event : events.values()) {
-            if (event.getGridX() == gridX && event.getGridY() == gridY) {
-                // For one-time events, check if already completed
-                if (event.isOneTime() &&
-                        event.isCompleted()) {
-                    continue;
+    // Events with at least one tile within radius tiles of (x, y), e.g. to hint at nearby events in the UI.
+    // Results are added to out (cleared first), each event once.
+    public Array<MapEvent> getEventsInRadius(float x, float y, float radius, Array<MapEvent> out) {
+        out.clear();
+        int centerX = (int) x;
+        int centerY = (int) y;
+        int r = (int) Math.ceil(radius);
+        float radiusSquared = radius * radius;
+        for (int ty = centerY - r; ty <= centerY + r; ty++) {
+            for (int tx = centerX - r; tx <= centerX + r; tx++) {
+                int dx = tx - centerX, dy = ty - centerY;
+                if (dx * dx + dy * dy > radiusSquared) continue;
+                Array<MapEvent> tileEvents = eventsByTile.get(tileKey(tx, ty));
+                if (tileEvents == null) continue;
+                for (int i = 0; i < tileEvents.size; i++) {
+                    MapEvent event = tileEvents.get(i);
+                    if (event.isOneTime() && event.isCompleted()) continue;
+                    if (!out.contains(event, true)) out.add(event);
                 }
-                System.out.println(event.toString());
-                return event;
             }
         }
-        return null;
+        return out;
     }
 
 
@@ -213,5 +262,6 @@ public class EventManager {
 
     public void setEvents(Map<String, MapEvent> events) {
         this.events = events;
+        rebuildIndex();
     }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package ctu.game.isometric.controller;
+
+import ctu.game.isometric.model.world.IsometricMap;
+
+import java.util.Arrays;
+
+// Flow field towards one target (usually the player) over the chunks around it. A breadth-first
+// Dijkstra wave fills the integration field (steps to the target), then every tile gets the direction
+// of its cheapest neighbour, so any number of agents can read their next step in O(1).
+// When the target changes tile the wave is rebuilt into a back buffer a few thousand tiles per frame;
+// agents keep sampling the previous field until the new one is swapped in.
+// A target that only steps onto a neighbour of the tile the wave was built from (the anchor) reuses
+// the field as is: the anchor points at the target and every other tile keeps leading to the anchor,
+// so routes are at most two steps longer than exact. Only a second step away triggers a rebuild,
+// which halves the rebuilds while the player walks.
+public class FlowField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int NO_DIRECTION = -1;
+    public static final int AT_TARGET = 4;
+    // Direction index -> step, same order as Pathfinder: right, up, left, down
+    public static final int[] DX = {0, 1, 0, -1};
+    public static final int[] DY = {1, 0, -1, 0};
+
+    private static final int CHUNK_SIZE = IsometricMap.CHUNK_SIZE;
+
+    private final IsometricMap map;
+    private final int radiusChunks;
+    private final int capacity;
+
+    // Published field, read by agents
+    private int originX, originY, fieldWidth, fieldHeight;
+    private int anchorX = -1, anchorY = -1; // tile the published wave started from
+    private int targetX = -1, targetY = -1; // the anchor or one of its neighbours
+    private int[] integration;
+    private byte[] directions;
+    private boolean ready = false;
+
+    // Field under construction
+    private int buildOriginX, buildOriginY, buildWidth, buildHeight;
+    private int buildTargetX = -1, buildTargetY = -1;
+    private int pendingTargetX, pendingTargetY; // where the target stepped to during the build
+    private int[] buildIntegration;
+    private byte[] buildDirections;
+    private final int[] queue;
+    private int head, tail;
+    private boolean building = false;
+    private long buildVersion; // sum of the window's chunk versions when the build started
+
+    public FlowField(IsometricMap map, int radiusChunks) {
+        this.map = map;
+        this.radiusChunks = radiusChunks;
+        int side = (2 * radiusChunks + 1) * CHUNK_SIZE;
+        this.capacity = side * side;
+        this.integration = new int[capacity];
+        this.directions = new byte[capacity];
+        this.buildIntegration = new int[capacity];
+        this.buildDirections = new byte[capacity];
+        this.queue = new int[capacity];
+    }
+
+    // Called every frame with the target tile; starts a rebuild when it moved more than one tile
+    // from the anchor or the terrain changed
+    public void setTarget(int x, int y) {
+        if (building) {
+            // The build in progress is still useful for a one-tile move, it is offset once published
+            if (Math.abs(x - buildTargetX) + Math.abs(y - buildTargetY) <= 1) {
+                pendingTargetX = x;
+                pendingTargetY = y;
+                return;
+            }
+        } else if (ready && windowVersion(originX, originY, fieldWidth, fieldHeight) == buildVersion) {
+            if (x == targetX && y == targetY) {
+                return;
+            }
+            if (isNextToAnchor(x, y)) {
+                targetX = x;
+                targetY = y;
+                return;
+            }
+        }
+        startBuild(x, y);
+    }
+
+    // Advance the rebuild by up to maxTiles dequeued tiles; returns true once the field is current
+    public boolean step(int maxTiles) {
+        if (!building) {
+            return ready;
+        }
+        int processed = 0;
+        while (head < tail && processed < maxTiles) {
+            int local = queue[head++];
+            processed++;
+            int lx = local % buildWidth;
+            int ly = local / buildWidth;
+            int nextCost = buildIntegration[local] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = lx + DX[d];
+                int ny = ly + DY[d];
+                if (nx < 0 || ny < 0 || nx >= buildWidth || ny >= buildHeight) continue;
+                int neighbour = ny * buildWidth + nx;
+                if (buildIntegration[neighbour] != UNREACHABLE) continue;
+                if (!map.isWalkable(buildOriginX + nx, buildOriginY + ny)) continue;
+                buildIntegration[neighbour] = nextCost;
+                queue[tail++] = neighbour;
+            }
+        }
+        if (head < tail) {
+            return false;
+        }
+
+        buildDirectionField();
+        publish();
+        if (targetX != pendingTargetX || targetY != pendingTargetY) {
+            // Moved during the build, but not onto a neighbour this wave reached
+            startBuild(pendingTargetX, pendingTargetY);
+            return false;
+        }
+        return true;
+    }
+
+    // Direction index for an agent standing on (x, y): NO_DIRECTION outside the field or when cut off
+    public int getDirection(int x, int y) {
+        if (!ready) return NO_DIRECTION;
+        if (x == targetX && y == targetY) return AT_TARGET;
+        if (x == anchorX && y == anchorY) return directionTo(targetX - anchorX, targetY - anchorY);
+        int lx = x - originX;
+        int ly = y - originY;
+        if (lx < 0 || ly < 0 || lx >= fieldWidth || ly >= fieldHeight) return NO_DIRECTION;
+        return directions[ly * fieldWidth + lx];
+    }
+
+    // Steps to the target along the field, or UNREACHABLE. Exact unless the target has stepped off
+    // the anchor, then it is the route through the anchor.
+    public int getCost(int x, int y) {
+        if (!ready) return UNREACHABLE;
+        if (x == targetX && y == targetY) return 0;
+        int cost = anchorCost(x, y);
+        if (cost == UNREACHABLE || (targetX == anchorX && targetY == anchorY)) return cost;
+        return cost + 1;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isBuilding() {
+        return building;
+    }
+
+    // Steps from (x, y) to the anchor in the published field
+    private int anchorCost(int x, int y) {
+        int lx = x - originX;
+        int ly = y - originY;
+        if (lx < 0 || ly < 0 || lx >= fieldWidth || ly >= fieldHeight) return UNREACHABLE;
+        return integration[ly * fieldWidth + lx];
+    }
+
+    // A neighbour of the anchor the wave reached, so it is walkable, inside the window and connected
+    private boolean isNextToAnchor(int x, int y) {
+        return Math.abs(x - anchorX) + Math.abs(y - anchorY) == 1 && anchorCost(x, y) == 1;
+    }
+
+    private static int directionTo(int dx, int dy) {
+        for (int d = 0; d < 4; d++) {
+            if (DX[d] == dx && DY[d] == dy) return d;
+        }
+        return AT_TARGET;
+    }
+
+    public int getTargetX() {
+        return targetX;
+    }
+
+    public int getTargetY() {
+        return targetY;
+    }
+
+    private void startBuild(int x, int y) {
+        // Window of whole chunks centred on the target's chunk, clipped to the map
+        int chunkX = x / CHUNK_SIZE;
+        int chunkY = y / CHUNK_SIZE;
+        buildOriginX = Math.max(0, chunkX - radiusChunks) * CHUNK_SIZE;
+        buildOriginY = Math.max(0, chunkY - radiusChunks) * CHUNK_SIZE;
+        buildWidth = Math.min(map.getMapWidth(), (chunkX + radiusChunks + 1) * CHUNK_SIZE) - buildOriginX;
+        buildHeight = Math.min(map.getMapHeight(), (chunkY + radiusChunks + 1) * CHUNK_SIZE) - buildOriginY;
+        buildTargetX = x;
+        buildTargetY = y;
+        pendingTargetX = x;
+        pendingTargetY = y;
+        buildVersion = windowVersion(buildOriginX, buildOriginY, buildWidth, buildHeight);
+
+        int size = buildWidth * buildHeight;
+        Arrays.fill(buildIntegration, 0, size, UNREACHABLE);
+        head = 0;
+        tail = 0;
+        building = true;
+
+        int lx = x - buildOriginX;
+        int ly = y - buildOriginY;
+        if (lx >= 0 && ly >= 0 && lx < buildWidth && ly < buildHeight && map.isWalkable(x, y)) {
+            int local = ly * buildWidth + lx;
+            buildIntegration[local] = 0;
+            queue[tail++] = local;
+        }
+    }
+
+    private void buildDirectionField() {
+        for (int ly = 0; ly < buildHeight; ly++) {
+            for (int lx = 0; lx < buildWidth; lx++) {
+                int local = ly * buildWidth + lx;
+                int cost = buildIntegration[local];
+                if (cost == 0) {
+                    buildDirections[local] = AT_TARGET;
+                    continue;
+                }
+                int best = NO_DIRECTION;
+                int bestCost = cost;
+                for (int d = 0; d < 4; d++) {
+                    int nx = lx + DX[d];
+                    int ny = ly + DY[d];
+                    if (nx < 0 || ny < 0 || nx >= buildWidth || ny >= buildHeight) continue;
+                    int neighbourCost = buildIntegration[ny * buildWidth + nx];
+                    if (neighbourCost < bestCost) {
+                        bestCost = neighbourCost;
+                        best = d;
+                    }
+                }
+                buildDirections[local] = (byte) best;
+            }
+        }
+    }
+
+    // Swap the finished buffers in
+    private void publish() {
+        int[] oldIntegration = integration;
+        byte[] oldDirections = directions;
+        integration = buildIntegration;
+        directions = buildDirections;
+        buildIntegration = oldIntegration;
+        buildDirections = oldDirections;
+
+        originX = buildOriginX;
+        originY = buildOriginY;
+        fieldWidth = buildWidth;
+        fieldHeight = buildHeight;
+        anchorX = buildTargetX;
+        anchorY = buildTargetY;
+        building = false;
+        ready = true;
+        if (isNextToAnchor(pendingTargetX, pendingTargetY)) {
+            targetX = pendingTargetX;
+            targetY = pendingTargetY;
+        } else {
+            targetX = anchorX;
+            targetY = anchorY;
+        }
+    }
+
+    private long windowVersion(int x, int y, int width, int height) {
+        long sum = 0;
+        for (int cy = y / CHUNK_SIZE; cy * CHUNK_SIZE < y + height; cy++) {
+            for (int cx = x / CHUNK_SIZE; cx * CHUNK_SIZE < x + width; cx++) {
+                sum += map.getChunkVersion(cx, cy);
+            }
+        }
+        return sum;
+    }
+}
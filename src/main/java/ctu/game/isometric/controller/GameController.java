@@ -1,5 +1,6 @@
 package ctu.game.isometric.controller;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.maps.MapLayer;
@@ -13,6 +14,8 @@ import ctu.game.isometric.model.dictionary.Dictionary;
 import ctu.game.isometric.model.dictionary.Word;
 import ctu.game.isometric.model.game.Items;
 import ctu.game.isometric.model.world.MapEvent;
+import ctu.game.isometric.util.AssetManager;
+import ctu.game.isometric.util.FrameProfiler;
 import ctu.game.isometric.util.ItemLoader;
 import ctu.game.isometric.view.menu.CharacterCreation;
 import ctu.game.isometric.view.menu.MainMenu;
@@ -35,9 +38,7 @@ import ctu.game.isometric.view.ui.InventoryUI;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
+import java.util.function.Supplier;
 
 public class GameController {
     private IsometricGame game;
@@ -67,6 +68,7 @@ public class GameController {
     private QuizController quizController;
     private ctu.game.isometric.view.view.DictionaryView  dictionaryView;
     private Dictionary dictionary;
+    private DictionaryLoader dictionaryLoader;
     private BitmapFont font;
 
 
@@ -76,9 +78,19 @@ public class GameController {
     private AchievementUI achievementUI;
 
     private Pathfinder pathfinder;
+    private Supplier<PathfindingStrategy> pathfindingStrategy; // null = pick by map size
+    private static final Supplier<PathfindingStrategy> HIERARCHICAL_STRATEGY = () -> new HierarchicalPathfinder(null);
+    private static final Supplier<PathfindingStrategy> JUMP_POINT_STRATEGY = () -> new JumpPointPathfinder(null);
+    private PathRequestService pathRequestService;
+    private PathCache pathCache;
+    private FlowField flowField; // created on first use by agents that chase the player
+    private static final int FLOW_FIELD_RADIUS_CHUNKS = 3;
+    private static final int FLOW_FIELD_TILES_PER_FRAME = 4096;
+    private final FrameProfiler profiler;
 
     public GameController(IsometricGame game) {
         this.game = game;
+        this.profiler = game.getFrameProfiler();
 
         this.map = new IsometricMap();
         this.eventManager = new EventManager(map);
@@ -101,8 +113,12 @@ public class GameController {
 //        this.wordValidator.loadDictionary();
         this.wordNetValidator = new WordNetValidator();
         this.wordNetValidator.loadDictionary();
+        this.wordNetValidator.warmDetailCache();
+        this.dictionaryLoader = new DictionaryLoader(wordNetValidator);
 
         this.pathfinder = new Pathfinder(map);
+        this.pathRequestService = new PathRequestService(this);
+        this.pathCache = new PathCache(map);
 
         this.gameplayController = new GameplayController(this);
         this.quizController = new QuizController(this);
@@ -134,39 +150,71 @@ public class GameController {
         return achievementUI;
     }
 
+    // Rebuild the Dictionary from the character's learned words. The details are resolved on
+    // DictionaryLoader's workers and added batch by batch, so loading a save does not stall a frame.
     public void resetLearnedWords() {
-        Set<Word> learnedWordList = new HashSet<>();
-        for (String learnedWord : getCharacter().getLearnedWords()) {
-            Word word = wordNetValidator.getWordDetails(learnedWord);
-            if (word != null) {
-                learnedWordList.add(word);
-            }
-        }
-        dictionary.setLearnedWords(learnedWordList);
+        dictionary.setLearnedWords(new HashSet<>());
         dictionary.getNewWords().clear();
+        transitionRenderer.setLoadingProgress(0f);
+        gameplayController.onLearnedWordsLoaded();
+
+        dictionaryLoader.load(getCharacter().getLearnedWords(), new DictionaryLoader.Listener() {
+            @Override
+            public void onBatch(List<Word> words, int resolved, int total) {
+                List<Word> added = new ArrayList<>(words.size());
+                for (Word word : words) {
+                    if (dictionary.getLearnedWords().add(word)) added.add(word);
+                }
+                if (dictionaryView != null) {
+                    dictionaryView.onLearnedWordsLoaded(added);
+                }
+                transitionRenderer.setLoadingProgress(resolved / (float) total);
+            }
 
+            @Override
+            public void onComplete(int total) {
+                transitionRenderer.setLoadingProgress(1f);
+                Gdx.app.log("GameController", "Dictionary loaded: " + dictionary.getLearnedWordCount() + "/" + total + " words");
+            }
+        });
     }
 
+    // Kept for callers of the old synchronous API; planning now always goes through PathRequestService
     public void moveCharacterAlongPath(int targetX, int targetY) {
+        requestCharacterPath(targetX, targetY);
+    }
+
+    // Click-to-move without blocking the frame: the path is planned in the background and
+    // applyPlannedPath is called on the render thread once (part of) it is ready
+    public void requestCharacterPath(int targetX, int targetY) {
         int startX = (int) character.getGridX();
         int startY = (int) character.getGridY();
+        pathRequestService.requestPath(startX, startY, targetX, targetY, 30);
+    }
 
-        // Find path with a reasonable maximum length
-        Array<int[]> path = pathfinder.findPath(startX, startY, targetX, targetY, 30);
+    // Results of requestCharacterPath. The first delivery replaces the current path; with append
+    // the remainder of a partial plan is added to the prefix the character is already walking.
+    public void applyPlannedPath(Array<int[]> path, boolean append, int targetX, int targetY) {
+        if (path.size == 0) return;
 
-        if (path.size > 0) {
-            // Remove the first point if it's the current position
-            if (path.size > 1 && path.get(0)[0] == startX && path.get(0)[1] == startY) {
-                path.removeIndex(0);
+        if (append) {
+            // Continue only while the prefix is being walked or the character stopped at its end
+            int[] next = path.first();
+            int distance = Math.abs(next[0] - (int) character.getGridX()) + Math.abs(next[1] - (int) character.getGridY());
+            if (character.isMoving() || distance == 1) {
+                character.appendPath(path);
             }
+            return;
+        }
 
-            character.setPath(path);
-            effectManager.playClickSound();
-
-
-            checkPositionEvents(targetX,targetY);
-            // Play a movement sound
+        int startX = (int) character.getGridX();
+        int startY = (int) character.getGridY();
+        if (path.size > 1 && path.get(0)[0] == startX && path.get(0)[1] == startY) {
+            path.removeIndex(0);
         }
+        character.setPath(path);
+        effectManager.playClickSound();
+        checkPositionEvents(targetX, targetY);
     }
 
 
@@ -192,18 +240,33 @@ public class GameController {
     }
 
     public void update(float delta) {
-
+        profiler.begin(FrameProfiler.Phase.UPDATE);
 
         switch (currentState) {
             case EXPLORING:
                 if(dialogController.isDialogActive()){
                     if (currentEvent != null && currentEvent.getEventType().equals("treasure")) {
+                        profiler.begin(FrameProfiler.Phase.EFFECTS);
                         effectManager.update(delta);
+                        profiler.end(FrameProfiler.Phase.EFFECTS);
                     }
                 }
                 else {
                     inputController.updateCooldown(delta);
+                    profiler.begin(FrameProfiler.Phase.CHARACTER);
                     character.update(delta);
+                    profiler.end(FrameProfiler.Phase.CHARACTER);
+                    profiler.begin(FrameProfiler.Phase.PATHING);
+                    if (character.isMoving()) {
+                        // Stream in the chunks the character is about to see
+                        map.prefetchPath(character.getCurrentPath(), character.getCurrentPathIndex(), 2);
+                    }
+                    if (flowField != null) {
+                        // Rebuilt in slices once the player is two tiles from where the last wave started
+                        flowField.setTarget((int) character.getGridX(), (int) character.getGridY());
+                        flowField.step(FLOW_FIELD_TILES_PER_FRAME);
+                    }
+                    profiler.end(FrameProfiler.Phase.PATHING);
                 }
                 break;
             case CHARACTER_CREATION:
@@ -242,6 +305,7 @@ public class GameController {
 
         }
 
+        profiler.end(FrameProfiler.Phase.UPDATE);
     }
 
     public void startQuiz() {
@@ -335,7 +399,10 @@ public class GameController {
 
     // Add a method to change maps safely
     public void changeMap(IsometricMap newMap, int startX, int startY) {
+        pathRequestService.cancel();
         this.map = newMap;
+        this.pathCache = new PathCache(newMap);
+        this.flowField = null;
 
         // Ensure character is placed at a valid position on the new map
         if (isValidPosition(startX, startY)) {
@@ -347,27 +414,22 @@ public class GameController {
     }
 
     private boolean isValidPosition(int x, int y) {
-        if (map == null || map.getMapData() == null) return false;
-
-        int[][] mapData = map.getMapData();
-        if (mapData.length == 0) return false;
+        if (map == null || map.getTileIds() == null) return false;
 
-        if (x < 0 || y < 0 || y >= mapData.length || x >= mapData[0].length) {
+        if (x < 0 || y < 0 || y >= map.getMapHeight() || x >= map.getMapWidth()) {
             return false;
         }
 
-        return mapData[y][x] != 0;
+        return map.getTileId(x, y) != 0;
     }
 
     private void findValidStartPosition() {
         // Find the first walkable tile on the new map
-        int[][] mapData = map.getMapData();
-        for (int y = 0; y < mapData.length; y++) {
-            for (int x = 0; x < mapData[y].length; x++) {
-                if (mapData[y][x] != 0) {
-                    character.setPosition(x, y);
-                    return;
-                }
+        int[] tileIds = map.getTileIds();
+        for (int i = 0; i < tileIds.length; i++) {
+            if (tileIds[i] != 0) {
+                character.setPosition(i % map.getMapWidth(), i / map.getMapWidth());
+                return;
             }
         }
         // If no walkable tile found, place at (0,0) as a last resort
@@ -416,7 +478,10 @@ public class GameController {
         character = new Character(20, 20);
 
         // Reset map with a new instance
+        pathRequestService.cancel();
         this.map = new IsometricMap();
+        this.pathCache = new PathCache(map);
+        this.flowField = null;
 
         this.eventManager = null;
         this.eventManager = new EventManager(map);
@@ -442,6 +507,7 @@ public class GameController {
 
         if (gameplayController != null) {
 //            getCutsceneController().dispose();
+            gameplayController.dispose();
             gameplayController = new GameplayController(this);
         }
 
@@ -460,6 +526,10 @@ public class GameController {
     }
 
     public void setLoadGameController(LoadGameController loadGameController) {
+        // Hand the shared fonts and textures of the replaced controller back
+        if (this.loadGameController != null && this.loadGameController != loadGameController) {
+            this.loadGameController.dispose();
+        }
         this.loadGameController = loadGameController;
     }
 
@@ -475,8 +545,9 @@ public class GameController {
         if (currentEvent != null) {
             hasActiveEvent = true;
             currentEventType = currentEvent.getEventType();
-            currentEventX = currentEvent.getGridX();
-            currentEventY = currentEvent.getGridY();
+            // The tile that triggered it; events may cover more than their origin tile
+            currentEventX = (int) x;
+            currentEventY = (int) y;
             properties = currentEvent.getProperties();
         } else {
             hasActiveEvent = false;
@@ -637,6 +708,38 @@ public class GameController {
         this.pathfinder = pathfinder;
     }
 
+    // Shared field towards the player for enemies/NPCs: read FlowField.getDirection for the next step
+    public FlowField getFlowField() {
+        if (flowField == null) {
+            flowField = new FlowField(map, FLOW_FIELD_RADIUS_CHUNKS);
+            flowField.setTarget((int) character.getGridX(), (int) character.getGridY());
+        }
+        return flowField;
+    }
+
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    public AssetManager getAssetManager() {
+        return game.getAssetManager();
+    }
+
+    // Planner for click-to-move. Each path worker builds its own instance with this factory and
+    // searches walkability snapshots with it.
+    public Supplier<PathfindingStrategy> getPathfindingStrategy() {
+        if (pathfindingStrategy != null) {
+            return pathfindingStrategy;
+        }
+        // Chunked (large) maps go through the hierarchical planner instead of a raw tile search
+        return map.isChunkingEnabled() ? HIERARCHICAL_STRATEGY : JUMP_POINT_STRATEGY;
+    }
+
+    // null goes back to picking by map size
+    public void setPathfindingStrategy(Supplier<PathfindingStrategy> pathfindingStrategy) {
+        this.pathfindingStrategy = pathfindingStrategy;
+    }
+
     public Character getCharacter() { return character; }
     public IsometricMap getMap() { return map; }
     public InputController getInputController() { return inputController; }
@@ -677,14 +780,18 @@ public class GameController {
         System.out.println("Changed transition to: " + types[nextIndex]);
     }
     public void dispose() {
+        pathRequestService.dispose();
+        dictionaryLoader.dispose();
+        Gdx.app.log("GameController", pathCache.toString());
+        Gdx.app.log("GameController", wordNetValidator.getDetailCache().toString());
         transitionRenderer.dispose();
         musicController.dispose();
         pauseMenu.dispose();
         settingsMenu.dispose();
         mainMenuController.dispose();
-        characterCreationController.dispose();
+        if (characterCreationController != null) characterCreationController.dispose();
         gameplayController.dispose();
-        loadGameController.dispose();
+        if (loadGameController != null) loadGameController.dispose();
         cutsceneController.dispose();
         effectManager.dispose();
         exploringUI.dispose();
@@ -719,6 +826,9 @@ public class GameController {
     }
 
     public void setCharacterCreationController(CharacterCreation characterCreation) {
+        if (this.characterCreationController != null && this.characterCreationController != characterCreation) {
+            this.characterCreationController.dispose();
+        }
         this.characterCreationController = characterCreation;
     }
 
@@ -0,0 +1,485 @@
+package ctu.game.isometric.controller;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import ctu.game.isometric.model.world.IsometricMap;
+import ctu.game.isometric.model.world.WalkableGrid;
+
+import java.util.Arrays;
+
+// HPA*: plans over the entrances between MapChunks first, then refines tile by tile
+// only the part of the route that fits in maxLength. Works on any WalkableGrid: a planner on a
+// worker thread is handed each new snapshot with setGrid and only rebuilds the chunks that changed.
+public class HierarchicalPathfinder implements PathfindingStrategy {
+    private static final int CHUNK_SIZE = IsometricMap.CHUNK_SIZE;
+    // Openings shorter than this get one transition in the middle, longer ones get one at each end
+    private static final int MAX_SINGLE_ENTRANCE = 6;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    private static class Node {
+        final int tile;     // packed y * width + x
+        final int cluster;
+        Node partner;       // same entrance on the other side of the border, cost 1
+        final Array<Node> edges = new Array<>(false, 8);
+        final IntArray costs = new IntArray(false, 8);
+
+        // Search state, only meaningful while stamp == current search
+        int stamp;
+        int g, f;
+        Node parent;
+        int heapIndex = -1;
+        boolean closed;
+        int goalStamp;
+        int goalCost;
+
+        Node(int tile, int cluster) {
+            this.tile = tile;
+            this.cluster = cluster;
+        }
+    }
+
+    private WalkableGrid map;
+    private Object builtOrigin; // map the entrance graph was built for
+    private int width, height;
+    private int clustersX, clustersY;
+    private Array<Node>[] clusterNodes;
+    private Array<Node>[] xBorders; // between chunk (cx, cy) and (cx + 1, cy)
+    private Array<Node>[] yBorders; // between chunk (cx, cy) and (cx, cy + 1)
+    private int[] builtVersions;
+
+    // Breadth-first search inside one chunk, indexed by (y % CHUNK_SIZE) * CHUNK_SIZE + x % CHUNK_SIZE
+    private final int[] localDist = new int[CHUNK_SIZE * CHUNK_SIZE];
+    private final int[] localParent = new int[CHUNK_SIZE * CHUNK_SIZE];
+    private final int[] localQueue = new int[CHUNK_SIZE * CHUNK_SIZE];
+    private final int[] localPath = new int[CHUNK_SIZE * CHUNK_SIZE];
+    private int localOriginX, localOriginY;
+
+    // Abstract search state
+    private int search = 0;
+    private Node[] heap = new Node[64];
+    private int heapSize;
+    private final Array<Node> route = new Array<>();
+
+    // map may be null for a planner that is only ever given snapshots through setGrid
+    public HierarchicalPathfinder(WalkableGrid map) {
+        this.map = map;
+        if (map != null) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void setGrid(WalkableGrid map) {
+        this.map = map;
+    }
+
+    @Override
+    public Array<int[]> findPath(int startX, int startY, int goalX, int goalY, int maxLength) {
+        refreshStaleChunks();
+
+        if (startX < 0 || startX >= width || startY < 0 || startY >= height) {
+            return new Array<>();
+        }
+
+        // Unreachable targets are retargeted to the closest tile in the start's region, or rejected in O(1)
+        int goal = map.resolveGoal(startX, startY, goalX, goalY, 10);
+        if (goal < 0) {
+            return new Array<>();
+        }
+
+        int start = startY * width + startX;
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+
+        Array<int[]> path = new Array<>();
+        if (maxLength <= 0) {
+            return path;
+        }
+        path.add(new int[]{startX, startY});
+        if (start == goal || maxLength == 1) {
+            return path;
+        }
+
+        // Same chunk: a local search is usually enough
+        if (startCluster == goalCluster) {
+            searchCluster(startCluster, start);
+            if (localDist[localIndex(goal)] >= 0) {
+                appendLocal(path, goal, maxLength);
+                return path;
+            }
+        }
+
+        Node last = searchAbstract(start, startCluster, goal, goalCluster);
+        if (last == null) {
+            return new Array<>();
+        }
+
+        refine(path, start, last, goal, maxLength);
+        return path;
+    }
+
+    // Rebuild the whole abstract graph, e.g. after the map was resized
+    public void rebuild() {
+        builtOrigin = map.getOrigin();
+        width = map.getMapWidth();
+        height = map.getMapHeight();
+        clustersX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        clustersY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int count = clustersX * clustersY;
+
+        clusterNodes = newNodeLists(count);
+        xBorders = newNodeLists(count);
+        yBorders = newNodeLists(count);
+        builtVersions = new int[count];
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (cx + 1 < clustersX) buildXBorder(cx, cy);
+                if (cy + 1 < clustersY) buildYBorder(cx, cy);
+            }
+        }
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                int cluster = cy * clustersX + cx;
+                connectCluster(cluster);
+                builtVersions[cluster] = map.getChunkVersion(cx, cy);
+            }
+        }
+    }
+
+    // Recompute the entrances on the four borders of one chunk and the intra-chunk
+    // distances of that chunk and its neighbours, whose entrance lists just changed
+    public void rebuildChunk(int cx, int cy) {
+        if (cx > 0) buildXBorder(cx - 1, cy);
+        if (cx + 1 < clustersX) buildXBorder(cx, cy);
+        if (cy > 0) buildYBorder(cx, cy - 1);
+        if (cy + 1 < clustersY) buildYBorder(cx, cy);
+
+        int cluster = cy * clustersX + cx;
+        connectCluster(cluster);
+        if (cx > 0) connectCluster(cluster - 1);
+        if (cx + 1 < clustersX) connectCluster(cluster + 1);
+        if (cy > 0) connectCluster(cluster - clustersX);
+        if (cy + 1 < clustersY) connectCluster(cluster + clustersX);
+        builtVersions[cluster] = map.getChunkVersion(cx, cy);
+    }
+
+    private void refreshStaleChunks() {
+        if (builtOrigin != map.getOrigin() || width != map.getMapWidth() || height != map.getMapHeight()) {
+            rebuild();
+            return;
+        }
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (builtVersions[cy * clustersX + cx] != map.getChunkVersion(cx, cy)) {
+                    rebuildChunk(cx, cy);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Array<Node>[] newNodeLists(int count) {
+        Array<Node>[] lists = new Array[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = new Array<>(false, 4);
+        }
+        return lists;
+    }
+
+    // ---- Abstract graph construction ----
+
+    private void buildXBorder(int cx, int cy) {
+        int cluster = cy * clustersX + cx;
+        int from = cy * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, height);
+        buildBorder(xBorders[cluster], true, (cx + 1) * CHUNK_SIZE - 1, from, to, cluster, cluster + 1);
+    }
+
+    private void buildYBorder(int cx, int cy) {
+        int cluster = cy * clustersX + cx;
+        int from = cx * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, width);
+        buildBorder(yBorders[cluster], false, (cy + 1) * CHUNK_SIZE - 1, from, to, cluster, cluster + clustersX);
+    }
+
+    // Scan a border for maximal runs open on both sides and turn each run into transitions
+    private void buildBorder(Array<Node> border, boolean alongY, int fixed, int from, int to,
+                             int clusterA, int clusterB) {
+        for (int i = 0; i < border.size; i++) {
+            Node node = border.get(i);
+            clusterNodes[node.cluster].removeValue(node, true);
+        }
+        border.clear();
+
+        int runStart = -1;
+        for (int t = from; t <= to; t++) {
+            boolean open = t < to && isOpen(alongY, fixed, t);
+            if (open && runStart < 0) {
+                runStart = t;
+            } else if (!open && runStart >= 0) {
+                int runEnd = t - 1;
+                if (runEnd - runStart + 1 < MAX_SINGLE_ENTRANCE) {
+                    addTransition(border, alongY, fixed, (runStart + runEnd) / 2, clusterA, clusterB);
+                } else {
+                    addTransition(border, alongY, fixed, runStart, clusterA, clusterB);
+                    addTransition(border, alongY, fixed, runEnd, clusterA, clusterB);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private boolean isOpen(boolean alongY, int fixed, int t) {
+        return alongY
+                ? map.isWalkable(fixed, t) && map.isWalkable(fixed + 1, t)
+                : map.isWalkable(t, fixed) && map.isWalkable(t, fixed + 1);
+    }
+
+    private void addTransition(Array<Node> border, boolean alongY, int fixed, int t, int clusterA, int clusterB) {
+        int tileA = alongY ? t * width + fixed : fixed * width + t;
+        int tileB = alongY ? tileA + 1 : tileA + width;
+        Node a = new Node(tileA, clusterA);
+        Node b = new Node(tileB, clusterB);
+        a.partner = b;
+        b.partner = a;
+        border.add(a);
+        border.add(b);
+        clusterNodes[clusterA].add(a);
+        clusterNodes[clusterB].add(b);
+    }
+
+    // Precompute the walking distance between every pair of entrances inside one chunk
+    private void connectCluster(int cluster) {
+        Array<Node> nodes = clusterNodes[cluster];
+        for (int i = 0; i < nodes.size; i++) {
+            nodes.get(i).edges.clear();
+            nodes.get(i).costs.clear();
+        }
+        for (int i = 0; i < nodes.size; i++) {
+            Node from = nodes.get(i);
+            searchCluster(cluster, from.tile);
+            for (int j = 0; j < nodes.size; j++) {
+                if (i == j) continue;
+                Node to = nodes.get(j);
+                int dist = localDist[localIndex(to.tile)];
+                if (dist >= 0) {
+                    from.edges.add(to);
+                    from.costs.add(dist);
+                }
+            }
+        }
+    }
+
+    // ---- Local (intra-chunk) search ----
+
+    private int clusterOf(int tile) {
+        return (tile / width / CHUNK_SIZE) * clustersX + (tile % width) / CHUNK_SIZE;
+    }
+
+    private int localIndex(int tile) {
+        return ((tile / width) % CHUNK_SIZE) * CHUNK_SIZE + (tile % width) % CHUNK_SIZE;
+    }
+
+    // Uniform costs, so a breadth-first flood gives exact distances within the chunk
+    private void searchCluster(int cluster, int fromTile) {
+        localOriginX = (cluster % clustersX) * CHUNK_SIZE;
+        localOriginY = (cluster / clustersX) * CHUNK_SIZE;
+        int limitX = Math.min(localOriginX + CHUNK_SIZE, width) - localOriginX;
+        int limitY = Math.min(localOriginY + CHUNK_SIZE, height) - localOriginY;
+
+        Arrays.fill(localDist, -1);
+        int from = localIndex(fromTile);
+        localDist[from] = 0;
+        localParent[from] = -1;
+
+        int head = 0, tail = 0;
+        localQueue[tail++] = from;
+        while (head < tail) {
+            int current = localQueue[head++];
+            int lx = current % CHUNK_SIZE;
+            int ly = current / CHUNK_SIZE;
+            for (int[] dir : DIRECTIONS) {
+                int nx = lx + dir[0];
+                int ny = ly + dir[1];
+                if (nx < 0 || ny < 0 || nx >= limitX || ny >= limitY) continue;
+
+                int next = ny * CHUNK_SIZE + nx;
+                if (localDist[next] >= 0) continue;
+                if (!map.isWalkable(localOriginX + nx, localOriginY + ny)) continue;
+
+                localDist[next] = localDist[current] + 1;
+                localParent[next] = current;
+                localQueue[tail++] = next;
+            }
+        }
+    }
+
+    // Append the last local search's route to target (without its first tile) until maxLength is reached
+    private void appendLocal(Array<int[]> path, int target, int maxLength) {
+        int length = 0;
+        for (int node = localIndex(target); localDist[node] > 0; node = localParent[node]) {
+            localPath[length++] = node;
+        }
+        for (int i = length - 1; i >= 0 && path.size < maxLength; i--) {
+            int node = localPath[i];
+            path.add(new int[]{localOriginX + node % CHUNK_SIZE, localOriginY + node / CHUNK_SIZE});
+        }
+    }
+
+    // ---- Abstract search ----
+
+    // A* over the entrance graph. Returns the last entrance before the goal, or null if unreachable.
+    private Node searchAbstract(int start, int startCluster, int goal, int goalCluster) {
+        search++;
+        heapSize = 0;
+        int goalX = goal % width;
+        int goalY = goal / width;
+
+        // Entrances of the goal chunk learn their exit cost to the goal
+        searchCluster(goalCluster, goal);
+        Array<Node> goalNodes = clusterNodes[goalCluster];
+        for (int i = 0; i < goalNodes.size; i++) {
+            Node node = goalNodes.get(i);
+            int dist = localDist[localIndex(node.tile)];
+            if (dist >= 0) {
+                node.goalStamp = search;
+                node.goalCost = dist;
+            }
+        }
+
+        // Seed the open set with the entrances reachable from the start
+        searchCluster(startCluster, start);
+        Array<Node> startNodes = clusterNodes[startCluster];
+        for (int i = 0; i < startNodes.size; i++) {
+            Node node = startNodes.get(i);
+            int dist = localDist[localIndex(node.tile)];
+            if (dist >= 0) {
+                relax(null, node, dist, goalX, goalY);
+            }
+        }
+
+        Node best = null;
+        int bestCost = Integer.MAX_VALUE;
+        while (heapSize > 0) {
+            Node current = pop();
+            // The heuristic is admissible, so nothing left in the heap can beat the best exit
+            if (current.f >= bestCost) break;
+            current.closed = true;
+
+            if (current.goalStamp == search && current.g + current.goalCost < bestCost) {
+                bestCost = current.g + current.goalCost;
+                best = current;
+            }
+
+            relax(current, current.partner, current.g + 1, goalX, goalY);
+            for (int i = 0; i < current.edges.size; i++) {
+                relax(current, current.edges.get(i), current.g + current.costs.get(i), goalX, goalY);
+            }
+        }
+        return best;
+    }
+
+    private void relax(Node from, Node to, int g, int goalX, int goalY) {
+        if (to.stamp != search) {
+            to.stamp = search;
+            to.g = Integer.MAX_VALUE;
+            to.parent = null;
+            to.heapIndex = -1;
+            to.closed = false;
+        }
+        if (to.closed || g >= to.g) return;
+
+        to.g = g;
+        to.parent = from;
+        to.f = g + Math.abs(to.tile % width - goalX) + Math.abs(to.tile / width - goalY);
+        if (to.heapIndex < 0) {
+            push(to);
+        } else {
+            siftUp(to.heapIndex);
+        }
+    }
+
+    // Turn the abstract route into tiles, one leg at a time, and stop as soon as maxLength is filled
+    private void refine(Array<int[]> path, int start, Node last, int goal, int maxLength) {
+        route.clear();
+        for (Node node = last; node != null; node = node.parent) {
+            route.add(node);
+        }
+        route.reverse();
+
+        int current = start;
+        for (int i = 0; i < route.size && path.size < maxLength; i++) {
+            Node node = route.get(i);
+            if (i > 0 && route.get(i - 1).partner == node) {
+                // Crossing the border is a single step
+                path.add(new int[]{node.tile % width, node.tile / width});
+            } else {
+                searchCluster(node.cluster, current);
+                appendLocal(path, node.tile, maxLength);
+            }
+            current = node.tile;
+        }
+        if (path.size < maxLength) {
+            searchCluster(clusterOf(goal), current);
+            appendLocal(path, goal, maxLength);
+        }
+        route.clear();
+    }
+
+    // ---- Binary heap on f ----
+
+    private void push(Node node) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        heap[heapSize] = node;
+        node.heapIndex = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private Node pop() {
+        Node top = heap[0];
+        top.heapIndex = -1;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heap[0].heapIndex = 0;
+            siftDown(0);
+        }
+        heap[heapSize] = null;
+        return top;
+    }
+
+    private void siftUp(int pos) {
+        Node node = heap[pos];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            Node parentNode = heap[parentPos];
+            if (node.f >= parentNode.f) break;
+            heap[pos] = parentNode;
+            parentNode.heapIndex = pos;
+            pos = parentPos;
+        }
+        heap[pos] = node;
+        node.heapIndex = pos;
+    }
+
+    private void siftDown(int pos) {
+        Node node = heap[pos];
+        int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < heapSize && heap[right].f < heap[child].f) {
+                child = right;
+            }
+            if (heap[child].f >= node.f) break;
+            heap[pos] = heap[child];
+            heap[pos].heapIndex = pos;
+            pos = child;
+        }
+        heap[pos] = node;
+        node.heapIndex = pos;
+    }
+}
@@ -144,8 +144,8 @@ public class InputController extends InputAdapter {
                 moveCharacter(dx, dy);
                 moveCooldown = MOVE_DELAY;
             } else {
-                // For non-adjacent tiles, use pathfinding
-                gameController.moveCharacterAlongPath(targetX, targetY);
+                // For non-adjacent tiles, plan a path in the background
+                gameController.requestCharacterPath(targetX, targetY);
                 moveCooldown = MOVE_DELAY;
             }
             return true;
@@ -0,0 +1,76 @@
+package ctu.game.isometric.controller;
+
+import ctu.game.isometric.model.world.WalkableGrid;
+
+// Jump Point Search for the 4-connected, uniform-cost grid. It reuses the A* engine of Pathfinder
+// but only opens jump points, skipping the symmetric routes plain A* would expand one tile at a time.
+public class JumpPointPathfinder extends Pathfinder {
+
+    public JumpPointPathfinder(WalkableGrid map) {
+        super(map);
+    }
+
+    @Override
+    protected void expand(int current) {
+        int x = current % width;
+        int y = current / width;
+        int from = parent[current];
+
+        if (from == -1) {
+            // Start node: every direction is natural
+            jumpFrom(current, x, y, 1, 0);
+            jumpFrom(current, x, y, -1, 0);
+            jumpFrom(current, x, y, 0, 1);
+            jumpFrom(current, x, y, 0, -1);
+            return;
+        }
+
+        int dx = Integer.signum(x - from % width);
+        int dy = Integer.signum(y - from / width);
+        if (dx != 0) {
+            // Arrived horizontally: keep going and branch to any side that opened up
+            jumpFrom(current, x, y, 0, -1);
+            jumpFrom(current, x, y, 0, 1);
+            jumpFrom(current, x, y, dx, 0);
+        } else {
+            jumpFrom(current, x, y, -1, 0);
+            jumpFrom(current, x, y, 1, 0);
+            jumpFrom(current, x, y, 0, dy);
+        }
+    }
+
+    private void jumpFrom(int current, int x, int y, int dx, int dy) {
+        int jumpPoint = jump(x + dx, y + dy, dx, dy);
+        if (jumpPoint >= 0) {
+            int distance = heuristic(x, y, jumpPoint % width, jumpPoint / width);
+            relax(jumpPoint, gScore[current] + distance, current);
+        }
+    }
+
+    // Walk in a straight line until the goal, a forced neighbour or a wall. Vertical scans also stop
+    // where a horizontal scan would find something, which keeps the routes optimal.
+    private int jump(int x, int y, int dx, int dy) {
+        while (true) {
+            if (!map.isWalkable(x, y)) return -1;
+            if (x == goalX && y == goalY) return y * width + x;
+
+            if (dx != 0) {
+                if ((map.isWalkable(x, y - 1) && !map.isWalkable(x - dx, y - 1)) ||
+                        (map.isWalkable(x, y + 1) && !map.isWalkable(x - dx, y + 1))) {
+                    return y * width + x;
+                }
+            } else {
+                if ((map.isWalkable(x - 1, y) && !map.isWalkable(x - 1, y - dy)) ||
+                        (map.isWalkable(x + 1, y) && !map.isWalkable(x + 1, y - dy))) {
+                    return y * width + x;
+                }
+                if (jump(x + 1, y, 1, 0) >= 0 || jump(x - 1, y, -1, 0) >= 0) {
+                    return y * width + x;
+                }
+            }
+
+            x += dx;
+            y += dy;
+        }
+    }
+}
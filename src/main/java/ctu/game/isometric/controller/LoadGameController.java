@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 import ctu.game.isometric.model.dictionary.Word;
@@ -15,8 +16,6 @@ import ctu.game.isometric.model.game.GameState;
 import java.util.HashSet;
 import java.util.Set;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class LoadGameController {
     private final GameController gameController;
     private final GameSaveController saveService;
@@ -25,9 +24,9 @@ public class LoadGameController {
     private BitmapFont font;
 
     // Button textures
-    private Texture buttonNormal;
-    private Texture buttonSelected;
-    private Texture backButtonTexture;
+    private TextureRegion buttonNormal;
+    private TextureRegion buttonSelected;
+    private TextureRegion backButtonTexture;
 
     // Screen dimensions
     private final int screenWidth = 1280;
@@ -54,7 +53,7 @@ public class LoadGameController {
 
 
     // Add these fields at the top of the class
-    private Texture deleteButtonTexture;
+    private TextureRegion deleteButtonTexture;
     private Rectangle[] deleteButtonRects;
 
     private boolean isConfirmationDialogActive = false;
@@ -67,8 +66,7 @@ public class LoadGameController {
         this.gameController = gameController;
         this.saveService = new GameSaveController();
 
-        this.font = generateVietNameseFont("GrenzeGotisch.ttf", 30);
-        this.titleFont = generateVietNameseFont("GrenzeGotisch.ttf", 50);
+        this.titleFont = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 50);
 
         // Initialize fonts
 
@@ -76,12 +74,12 @@ public class LoadGameController {
         font.getData().setScale(1.5f);
 
         // Load textures
-        backgroundImage = new Texture(Gdx.files.internal("backgrounds/main_menu_bg.png"));
-        buttonNormal = new Texture(Gdx.files.internal("ui/button.png"));
-        buttonSelected = new Texture(Gdx.files.internal("ui/button_selected.png"));
-        backButtonTexture = new Texture(Gdx.files.internal("ui/button.png"));
+        backgroundImage = gameController.getAssetManager().acquireTexture("backgrounds/main_menu_bg.png");
+        buttonNormal = gameController.getAssetManager().getRegion("ui/button.png");
+        buttonSelected = gameController.getAssetManager().getRegion("ui/button_selected.png");
+        backButtonTexture = buttonNormal;
 // Load delete button texture
-        deleteButtonTexture = new Texture(Gdx.files.internal("ui/button_delete.png")); // Use an appropriate delete icon
+        deleteButtonTexture = gameController.getAssetManager().getRegion("ui/button_delete.png"); // Use an appropriate delete icon
         // Back button position
         backButtonRect = new Rectangle(
                 screenWidth / 2 - BACK_BUTTON_WIDTH / 2,
@@ -156,7 +154,7 @@ public class LoadGameController {
         } else {
             for (int i = 0; i < saveFiles.length; i++) {
                 Rectangle rect = fileButtonRects[i];
-                Texture buttonTexture = (i == selectedFileIndex) ? buttonSelected : buttonNormal;
+                TextureRegion buttonTexture = (i == selectedFileIndex) ? buttonSelected : buttonNormal;
 
                 // Draw button
                 batch.draw(buttonTexture, rect.x, rect.y, rect.width, rect.height);
@@ -355,11 +353,9 @@ public class LoadGameController {
 
 
     public void dispose() {
-        backgroundImage.dispose();
-        titleFont.dispose();
+        gameController.getAssetManager().release(backgroundImage);
+        gameController.getAssetManager().release(titleFont);
         font.dispose();
-        buttonNormal.dispose();
-        buttonSelected.dispose();
-        backButtonTexture.dispose();
+        // Button regions live on the shared atlas
     }
 }
\ No newline at end of file
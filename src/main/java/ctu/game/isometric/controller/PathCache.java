@@ -0,0 +1,168 @@
+package ctu.game.isometric.controller;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import ctu.game.isometric.model.world.IsometricMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU cache of planned paths keyed by (start tile, resolved goal tile). Keys use the goal
+// from IsometricMap.resolveGoal, which is always on the map, so clicks outside it cannot alias tiles
+// on the other side. Each entry remembers the walkability version of every chunk the path crosses
+// (plus the goal's chunk), so a path is dropped as soon as a tile in one of those chunks changes.
+// Only used from the render thread.
+public class PathCache {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static class Entry {
+        final int maxLength;
+        final Array<int[]> path;
+        final IntArray chunks = new IntArray();
+        final IntArray versions = new IntArray();
+
+        Entry(int maxLength, Array<int[]> path) {
+            this.maxLength = maxLength;
+            this.path = path;
+        }
+    }
+
+    private final IsometricMap map;
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // Counters for play sessions
+    private long hits, misses, invalidations, evictions, plans;
+    private long hitNanos, planNanos;
+
+    public PathCache(IsometricMap map) {
+        this(map, DEFAULT_CAPACITY);
+    }
+
+    public PathCache(IsometricMap map, int capacity) {
+        this.map = map;
+        this.entries = new LinkedHashMap<Long, Entry>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // A fresh copy of the cached path (callers consume and clear their paths), or null on a miss.
+    // goal is the packed y * width + x tile from resolveGoal.
+    public Array<int[]> get(int startX, int startY, int goal, int maxLength) {
+        long begin = System.nanoTime();
+        Long key = key(startX, startY, goal);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.maxLength != maxLength) {
+            misses++;
+            return null;
+        }
+        if (!isCurrent(entry)) {
+            entries.remove(key);
+            invalidations++;
+            misses++;
+            return null;
+        }
+        Array<int[]> path = new Array<>(entry.path);
+        hits++;
+        hitNanos += System.nanoTime() - begin;
+        return path;
+    }
+
+    // Store a freshly planned path; planNanos is how long the planner took, the cost of a miss.
+    // The miss itself was counted by get().
+    public void put(int startX, int startY, int goal, int maxLength, Array<int[]> path, long planNanos) {
+        plans++;
+        this.planNanos += planNanos;
+        if (path.size == 0) {
+            // Unreachable targets are rejected cheaply by the connectivity index, nothing to save
+            return;
+        }
+
+        Entry entry = new Entry(maxLength, new Array<>(path));
+        int width = map.getMapWidth();
+        addChunk(entry, goal % width, goal / width);
+        for (int[] point : path) {
+            addChunk(entry, point[0], point[1]);
+        }
+        entries.put(key(startX, startY, goal), entry);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void addChunk(Entry entry, int x, int y) {
+        if (x < 0 || x >= map.getMapWidth() || y < 0 || y >= map.getMapHeight()) return;
+        int chunkX = x / IsometricMap.CHUNK_SIZE;
+        int chunkY = y / IsometricMap.CHUNK_SIZE;
+        int chunk = chunkY * map.getChunksX() + chunkX;
+        if (!entry.chunks.contains(chunk)) {
+            entry.chunks.add(chunk);
+            entry.versions.add(map.getChunkVersion(chunkX, chunkY));
+        }
+    }
+
+    private boolean isCurrent(Entry entry) {
+        int chunksX = map.getChunksX();
+        for (int i = 0; i < entry.chunks.size; i++) {
+            int chunk = entry.chunks.get(i);
+            if (map.getChunkVersion(chunk % chunksX, chunk / chunksX) != entry.versions.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long key(int startX, int startY, int goal) {
+        long width = map.getMapWidth();
+        return (startY * width + startX) << 32 | goal & 0xFFFFFFFFL;
+    }
+
+    // ---- Stats ----
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public float getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (float) hits / lookups;
+    }
+
+    public float getAverageHitMicros() {
+        return hits == 0 ? 0 : hitNanos / 1000f / hits;
+    }
+
+    // Average planning time of the paths that were stored, i.e. what a miss costs
+    public float getAverageMissMicros() {
+        return plans == 0 ? 0 : planNanos / 1000f / plans;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PathCache: %d entries, hit rate %.1f%% (%d hits, %d misses), %d invalidated, %d evicted, hit %.1fus, miss %.1fus",
+                size(), getHitRate() * 100, hits, misses, invalidations, evictions, getAverageHitMicros(), getAverageMissMicros());
+    }
+}
@@ -0,0 +1,176 @@
+package ctu.game.isometric.controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import ctu.game.isometric.model.world.IsometricMap;
+import ctu.game.isometric.model.world.WalkabilitySnapshot;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Plans click-to-move paths on worker threads so a long search never stalls the render thread.
+// Workers search an immutable walkability snapshot and hand results back with Gdx.app.postRunnable.
+// A newer click supersedes (and interrupts) the previous request; its late results are dropped.
+// Each worker builds its own planner from the strategy GameController selects (HPA* on chunked maps)
+// and points it at the snapshot of every request.
+public class PathRequestService {
+    private static final int WORKER_THREADS = 2;
+    // Budget for the first slice; most clicks finish inside it and arrive as one complete path
+    private static final int FIRST_SLICE_EXPANSIONS = 4096;
+    // Tiles of a partial route the character may start walking while the rest is planned
+    private static final int PREFIX_STEPS = 4;
+
+    private final GameController gameController;
+    private final ExecutorService executor;
+    private final ThreadLocal<Planner> planners = new ThreadLocal<>();
+    private final AtomicInteger latestRequest = new AtomicInteger();
+    private Future<?> runningRequest;
+
+    public PathRequestService(GameController gameController) {
+        this.gameController = gameController;
+        this.executor = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "path-planner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // A worker's planner and the factory it came from; replaced when another strategy is selected
+    private static final class Planner {
+        final Supplier<PathfindingStrategy> factory;
+        final PathfindingStrategy strategy;
+
+        Planner(Supplier<PathfindingStrategy> factory) {
+            this.factory = factory;
+            this.strategy = factory.get();
+        }
+    }
+
+    // Called on the render thread. Returns false when the target cannot be reached at all.
+    public boolean requestPath(int startX, int startY, int targetX, int targetY, int maxLength) {
+        IsometricMap map = gameController.getMap();
+        // Reject clicks into other regions right away, using the live connectivity index
+        int goal = map.resolveGoal(startX, startY, targetX, targetY, 10);
+        if (goal < 0) {
+            return false;
+        }
+
+        int id = latestRequest.incrementAndGet();
+        if (runningRequest != null) {
+            runningRequest.cancel(true);
+        }
+
+        Array<int[]> cached = gameController.getPathCache().get(startX, startY, goal, maxLength);
+        if (cached != null) {
+            gameController.applyPlannedPath(cached, false, targetX, targetY);
+            return true;
+        }
+
+        WalkabilitySnapshot snapshot = map.getWalkabilitySnapshot();
+        Supplier<PathfindingStrategy> strategy = gameController.getPathfindingStrategy();
+        int goalX = goal % map.getMapWidth();
+        int goalY = goal / map.getMapWidth();
+        runningRequest = executor.submit(() ->
+                plan(id, snapshot, strategy, startX, startY, goalX, goalY, targetX, targetY, maxLength));
+        return true;
+    }
+
+    // Drop whatever is queued or running, e.g. when the map is replaced
+    public void cancel() {
+        latestRequest.incrementAndGet();
+        if (runningRequest != null) {
+            runningRequest.cancel(true);
+            runningRequest = null;
+        }
+    }
+
+    public void dispose() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private PathfindingStrategy planner(Supplier<PathfindingStrategy> factory) {
+        Planner planner = planners.get();
+        if (planner == null || planner.factory != factory) {
+            planner = new Planner(factory);
+            planners.set(planner);
+        }
+        return planner.strategy;
+    }
+
+    private void plan(int id, WalkabilitySnapshot snapshot, Supplier<PathfindingStrategy> strategy, int startX, int startY,
+                      int goalX, int goalY, int targetX, int targetY, int maxLength) {
+        PathfindingStrategy selected = planner(strategy);
+        selected.setGrid(snapshot);
+
+        long begin = System.nanoTime();
+        if (!(selected instanceof Pathfinder)) {
+            // HPA* only refines the legs that fit in maxLength, so it is planned in one go
+            Array<int[]> path = selected.findPath(startX, startY, goalX, goalY, maxLength);
+            if (isSuperseded(id)) return;
+            deliverComplete(id, snapshot, path, System.nanoTime() - begin, startX, startY, goalX, goalY, targetX, targetY, maxLength);
+            return;
+        }
+
+        // Tile planners (A*, JPS) get a first slice; long searches hand over a prefix to walk meanwhile
+        Pathfinder planner = (Pathfinder) selected;
+        Array<int[]> path = planner.findPartialPath(startX, startY, goalX, goalY, maxLength, FIRST_SLICE_EXPANSIONS);
+        if (isSuperseded(id)) return;
+        if (planner.isLastSearchComplete() || path.size <= 1) {
+            deliverComplete(id, snapshot, path, System.nanoTime() - begin, startX, startY, goalX, goalY, targetX, targetY, maxLength);
+            return;
+        }
+
+        // Let the character set off along the most promising prefix, then plan on from its end
+        int prefixLength = Math.min(path.size, PREFIX_STEPS + 1);
+        Array<int[]> prefix = new Array<>(true, prefixLength, int[].class);
+        for (int i = 0; i < prefixLength; i++) {
+            prefix.add(path.get(i));
+        }
+        deliver(id, prefix, false, targetX, targetY);
+
+        int[] join = prefix.peek();
+        Array<int[]> rest = planner.findPath(join[0], join[1], goalX, goalY, Integer.MAX_VALUE);
+        if (isSuperseded(id) || rest.size <= 1) return;
+
+        // The rest starts on the join tile, which the prefix already ends on
+        rest.removeIndex(0);
+        int remaining = Math.max(0, maxLength - prefixLength);
+        if (rest.size > remaining) {
+            rest.truncate(remaining);
+        }
+        if (rest.size > 0) {
+            deliver(id, rest, true, targetX, targetY);
+        }
+    }
+
+    private boolean isSuperseded(int id) {
+        return id != latestRequest.get() || Thread.currentThread().isInterrupted();
+    }
+
+    private void deliverComplete(int id, WalkabilitySnapshot snapshot, Array<int[]> path, long planNanos,
+                                 int startX, int startY, int goalX, int goalY, int targetX, int targetY, int maxLength) {
+        Gdx.app.postRunnable(() -> {
+            if (id != latestRequest.get()) return;
+            // Only paths planned against the current walkability are worth keeping
+            IsometricMap map = gameController.getMap();
+            if (map.isCurrentSnapshot(snapshot)) {
+                int goal = goalY * map.getMapWidth() + goalX;
+                gameController.getPathCache().put(startX, startY, goal, maxLength, path, planNanos);
+            }
+            gameController.applyPlannedPath(path, false, targetX, targetY);
+        });
+    }
+
+    private void deliver(int id, Array<int[]> path, boolean append, int targetX, int targetY) {
+        Gdx.app.postRunnable(() -> {
+            // A newer click may have landed while this was queued
+            if (id == latestRequest.get()) {
+                gameController.applyPlannedPath(path, append, targetX, targetY);
+            }
+        });
+    }
+}
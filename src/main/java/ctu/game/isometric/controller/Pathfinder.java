@@ -1,161 +1,290 @@
 package ctu.game.isometric.controller;
 
 import com.badlogic.gdx.utils.Array;
-import ctu.game.isometric.model.world.IsometricMap;
+import ctu.game.isometric.model.world.WalkableGrid;
 
-import java.util.*;
+import java.util.Arrays;
 
-public class Pathfinder {
-    private static class Node implements Comparable<Node> {
-        int x, y;
-        Node parent;
-        float g; // cost from start
-        float h; // heuristic (estimate to goal)
-        float f; // total cost (g + h)
+public class Pathfinder implements PathfindingStrategy {
+    protected WalkableGrid map;
+    private final int[][] directions = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}}; // Right, Up, Left, Down
 
-        Node(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
+    // Node storage, indexed by y * width + x and reused across searches
+    protected int width;
+    protected int height;
+    protected int[] gScore;
+    protected int[] parent;
+    private int[] openStamp;   // == generation while the node is in the open set (or was pushed this search)
+    private int[] closedStamp; // == generation once the node has been expanded
+    private int generation = 0;
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Node node = (Node) o;
-            return x == node.x && y == node.y;
-        }
+    // Binary min-heap of node indices ordered by f = g + h, with decrease-key support
+    private int[] heap;
+    private int[] heapPos;
+    private int[] fScore;
+    private int heapSize;
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(x, y);
-        }
+    // Goal of the running search, and how many nodes the last search expanded
+    protected int goalX, goalY;
+    private int expandedNodes;
+    private boolean lastSearchComplete;
 
-        @Override
-        public int compareTo(Node other) {
-            return Float.compare(this.f, other.f);
-        }
+    public Pathfinder(WalkableGrid map) {
+        this.map = map;
     }
 
-    private final IsometricMap map;
-    private final int[][] directions = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}}; // Right, Up, Left, Down
-
-    public Pathfinder(IsometricMap map) {
+    // Point a reused planner at another grid, e.g. the latest walkability snapshot on a worker thread
+    @Override
+    public void setGrid(WalkableGrid map) {
         this.map = map;
     }
 
+    @Override
     public Array<int[]> findPath(int startX, int startY, int goalX, int goalY, int maxLength) {
-        // If the target is not walkable, find the closest walkable tile
-        if (!map.isWalkable(goalX, goalY)) {
-            int[] closestWalkable = findClosestWalkable(goalX, goalY);
-            goalX = closestWalkable[0];
-            goalY = closestWalkable[1];
+        return findPartialPath(startX, startY, goalX, goalY, maxLength, Integer.MAX_VALUE);
+    }
+
+    // Same search, but it gives up after maxExpansions nodes and returns the route from the start to the
+    // expanded node closest to the goal (not cut to maxLength). isLastSearchComplete() tells the two apart.
+    // A planner on a worker thread also stops, with an empty path, when its thread is interrupted.
+    public Array<int[]> findPartialPath(int startX, int startY, int goalX, int goalY, int maxLength, int maxExpansions) {
+        ensureCapacity();
+        expandedNodes = 0;
+        lastSearchComplete = true;
+
+        if (startX < 0 || startX >= width || startY < 0 || startY >= height) {
+            return new Array<>();
         }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Set<String> closedSet = new HashSet<>();
+        // Unreachable targets are retargeted to the closest tile in the start's region, or rejected in O(1)
+        int goal = map.resolveGoal(startX, startY, goalX, goalY, 10);
+        if (goal < 0) {
+            return new Array<>();
+        }
+        goalX = goal % width;
+        goalY = goal / width;
+        this.goalX = goalX;
+        this.goalY = goalY;
 
-        Node startNode = new Node(startX, startY);
-        startNode.g = 0;
-        startNode.h = heuristic(startX, startY, goalX, goalY);
-        startNode.f = startNode.g + startNode.h;
+        int start = startY * width + startX;
 
-        openSet.add(startNode);
+        nextGeneration();
+        heapSize = 0;
 
-        while (!openSet.isEmpty()) {
-            Node current = openSet.poll();
+        gScore[start] = 0;
+        parent[start] = -1;
+        openStamp[start] = generation;
+        push(start, heuristic(startX, startY, goalX, goalY));
 
-            // Check if we reached the goal
-//            Nếu đến đích thì reconstruct lại đường đi.
+        int closest = start;
+        int closestDistance = heuristic(startX, startY, goalX, goalY);
+        while (heapSize > 0) {
+            int current = pop();
 
-            if (current.x == goalX && current.y == goalY) {
+            // Nếu đến đích thì reconstruct lại đường đi.
+            if (current == goal) {
                 return reconstructPath(current, maxLength);
             }
-            String key = current.x + "," + current.y;
-            closedSet.add(key);
-
-            // Check all neighbors
-            // Nếu không thể đi hoặc đã duyệt -> bỏ qua
-            for (int[] dir : directions) {
-                int nx = current.x + dir[0];
-                int ny = current.y + dir[1];
-
-                // Skip if outside map or unwalkable
-                if (!map.isWalkable(nx, ny)) continue;
-
-                String neighborKey = nx + "," + ny;
-                if (closedSet.contains(neighborKey)) continue;
-
-                float tentativeG = current.g + 1; // Cost is just distance of 1 per move
-
-                Node neighbor = new Node(nx, ny);
-                neighbor.parent = current;
-                neighbor.g = tentativeG;
-                neighbor.h = heuristic(nx, ny, goalX, goalY);
-                neighbor.f = neighbor.g + neighbor.h;
-
-                boolean found = false;
-                for (Node node : openSet) {
-                    if (node.x == nx && node.y == ny) {
-                        found = true;
-                        if (tentativeG < node.g) {
-                            openSet.remove(node);
-                            openSet.add(neighbor);
-                        }
-                        break;
-                    }
-                }
-
-                if (!found) {
-                    openSet.add(neighbor);
-                }
+            closedStamp[current] = generation;
+            expandedNodes++;
+
+            int distance = heuristic(current % width, current / width, goalX, goalY);
+            if (distance < closestDistance) {
+                closest = current;
+                closestDistance = distance;
+            }
+            if (expandedNodes >= maxExpansions) {
+                lastSearchComplete = false;
+                return reconstructPath(closest, Integer.MAX_VALUE);
             }
+            if ((expandedNodes & 1023) == 0 && Thread.currentThread().isInterrupted()) {
+                lastSearchComplete = false;
+                return new Array<>();
+            }
+            expand(current);
         }
 
         // No path found
         return new Array<>();
     }
 
-    private int[] findClosestWalkable(int x, int y) {
-//        Bắt đầu tìm kiếm từ khoảng cách (bán kính) là 1.
-        int searchRadius = 1;
-//        Giới hạn việc tìm kiếm trong bán kính tối đa là 10 ô để tránh kiểm tra vô hạn.
-        int maxSearchRadius = 10;
-        // Search in expanding squares around the original coordinates
-        while (searchRadius <= maxSearchRadius) {
-            for (int offsetY = -searchRadius; offsetY <= searchRadius; offsetY++) {
-                for (int offsetX = -searchRadius; offsetX <= searchRadius; offsetX++) {
-                    // Only check tiles on the perimeter of the square
-                    if (Math.abs(offsetX) == searchRadius || Math.abs(offsetY) == searchRadius) {
-                        int checkX = x + offsetX;
-                        int checkY = y + offsetY;
-                        if (map.isWalkable(checkX, checkY)) {
-                            return new int[]{checkX, checkY};
-                        }
-                    }
-                }
-            }
-            searchRadius++;
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    // False when the last search ran out of expansions (or was interrupted) before reaching the goal
+    public boolean isLastSearchComplete() {
+        return lastSearchComplete;
+    }
+
+    // Push the successors of an expanded node; plain A* just looks at the four neighbours
+    protected void expand(int current) {
+        int cx = current % width;
+        int cy = current / width;
+        int nextG = gScore[current] + 1; // Cost is just distance of 1 per move
+
+        // Nếu không thể đi hoặc đã duyệt -> bỏ qua
+        for (int[] dir : directions) {
+            int nx = cx + dir[0];
+            int ny = cy + dir[1];
+
+            // Skip if outside map or unwalkable
+            if (!map.isWalkable(nx, ny)) continue;
+
+            relax(ny * width + nx, nextG, current);
+        }
+    }
+
+    // Open a node or lower its cost if this route is cheaper
+    protected void relax(int node, int g, int from) {
+        if (closedStamp[node] == generation) return;
+
+        if (openStamp[node] != generation) {
+            openStamp[node] = generation;
+            gScore[node] = g;
+            parent[node] = from;
+            push(node, g + heuristic(node % width, node / width, goalX, goalY));
+        } else if (g < gScore[node]) {
+            gScore[node] = g;
+            parent[node] = from;
+            decreaseKey(node, g + heuristic(node % width, node / width, goalX, goalY));
         }
+    }
 
-        // Default to original coordinates if no walkable found
-        return new int[]{x, y};
+    // Grow the node arrays only when the map is larger than anything searched so far
+    private void ensureCapacity() {
+        width = map.getMapWidth();
+        height = map.getMapHeight();
+        int size = width * height;
+        if (gScore == null || gScore.length < size) {
+            gScore = new int[size];
+            parent = new int[size];
+            openStamp = new int[size];
+            closedStamp = new int[size];
+            fScore = new int[size];
+            heapPos = new int[size];
+            heap = new int[size];
+            generation = 0;
+        }
     }
+
+    // Bumping the generation invalidates every open/closed mark in O(1)
+    private void nextGeneration() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(openStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+    }
+
 //    khoảng cách Manhattan giữa hai điểm trên lưới (grid)
-    private float heuristic(int x1, int y1, int x2, int y2) {
+    protected int heuristic(int x1, int y1, int x2, int y2) {
         // Manhattan distance for grid movement
         return Math.abs(x1 - x2) + Math.abs(y1 - y2);
     }
 
-    private Array<int[]> reconstructPath(Node endNode, int maxLength) {
-        Array<int[]> path = new Array<>();
-        Node current = endNode;
+    // Parents may be several tiles apart (jump points), so each straight segment is walked tile by tile.
+    // Only the first maxLength tiles of the route are kept (see PathfindingStrategy).
+    private Array<int[]> reconstructPath(int endNode, int maxLength) {
+        // Count first so the result array is allocated once at its final size
+        int total = 1;
+        for (int node = endNode; parent[node] != -1; node = parent[node]) {
+            int from = parent[node];
+            total += heuristic(node % width, node / width, from % width, from / width);
+        }
+        int length = Math.max(0, Math.min(total, maxLength));
+
+        Array<int[]> path = new Array<>(true, Math.max(length, 1), int[].class);
+        if (length == 0) {
+            return path;
+        }
+        path.setSize(length);
 
-        while (current != null && path.size < maxLength) {
-            path.insert(0, new int[]{current.x, current.y});
-            current = current.parent;
+        // Walked back from the end; i is the tile's index in the full route, tiles past length are skipped
+        int node = endNode;
+        int x = node % width;
+        int y = node / width;
+        int i = total - 1;
+        if (i < length) path.set(i, new int[]{x, y});
+        i--;
+        while (i >= 0 && parent[node] != -1) {
+            int from = parent[node];
+            int fromX = from % width;
+            int fromY = from / width;
+            int stepX = Integer.signum(fromX - x);
+            int stepY = Integer.signum(fromY - y);
+            while (i >= 0 && (x != fromX || y != fromY)) {
+                x += stepX;
+                y += stepY;
+                if (i < length) path.set(i, new int[]{x, y});
+                i--;
+            }
+            node = from;
         }
 
         return path;
     }
-}
\ No newline at end of file
+
+    // ---- Binary heap ----
+
+    private void push(int node, int f) {
+        fScore[node] = f;
+        heap[heapSize] = node;
+        heapPos[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void decreaseKey(int node, int f) {
+        fScore[node] = f;
+        siftUp(heapPos[node]);
+    }
+
+    // Ties on f are broken towards the larger g, which keeps the search heading at the goal
+    private boolean less(int a, int b) {
+        return fScore[a] < fScore[b] || (fScore[a] == fScore[b] && gScore[a] > gScore[b]);
+    }
+
+    private void siftUp(int pos) {
+        int node = heap[pos];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parentNode = heap[parentPos];
+            if (!less(node, parentNode)) break;
+            heap[pos] = parentNode;
+            heapPos[parentNode] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = node;
+        heapPos[node] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int node = heap[pos];
+        int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < heapSize && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], node)) break;
+            heap[pos] = heap[child];
+            heapPos[heap[child]] = pos;
+            pos = child;
+        }
+        heap[pos] = node;
+        heapPos[node] = pos;
+    }
+}
@@ -0,0 +1,16 @@
+package ctu.game.isometric.controller;
+
+import com.badlogic.gdx.utils.Array;
+import ctu.game.isometric.model.world.WalkableGrid;
+
+// Common contract for the grid path planners, so callers can pick a search per request
+public interface PathfindingStrategy {
+    // Returns the route as {x, y} grid points including the start, or an empty Array if the goal is unreachable.
+    // A route longer than maxLength points is cut to its first maxLength points: it always begins at the
+    // start, so the character can walk it and plan the rest from where it stops. Every implementation
+    // follows this rule, so switching strategy (or a PathCache hit) never changes what gets walked.
+    Array<int[]> findPath(int startX, int startY, int goalX, int goalY, int maxLength);
+
+    // Search another grid from now on, e.g. the latest walkability snapshot on a worker thread
+    void setGrid(WalkableGrid grid);
+}
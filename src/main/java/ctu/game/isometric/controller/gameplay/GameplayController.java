@@ -2,12 +2,12 @@ package ctu.game.isometric.controller.gameplay;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -19,11 +19,9 @@ import ctu.game.isometric.model.game.*;
 import ctu.game.isometric.model.world.MapEvent;
 import ctu.game.isometric.util.*;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
 import static ctu.game.isometric.util.WordNetValidator.getTotalScore;
 
 
@@ -31,6 +29,11 @@ public class GameplayController {
     // Core components
     private final GameController gameController;
     private final LetterGrid letterGrid;
+    private final GridSolver gridSolver = new GridSolver();
+    private final GridGenerator gridGenerator = new GridGenerator(new GridGenerator.Constraints());
+    private GridSolution gridSolution;      // words of the current letters, null while being solved
+    private int requestedGeneration = -1;   // letter generation the solver was last asked about
+    private String gridSummaryText;
     private final Random random = new Random();
 
     // Game state
@@ -42,22 +45,40 @@ public class GameplayController {
     // UI components
     private BitmapFont titleFont, regularFont, bigFont;
     private GlyphLayout layout;
+    private final TextLayoutCache textLayouts = new TextLayoutCache();
     private Viewport viewport;
-    private Texture whiteTexture;
-    private Map<String, Texture> textureCache = new HashMap<>();
-
-    private Texture gridBackgroundTexture;
-    private Texture buttonTexture;
-    private Texture buttonSelectedTexture;
-    private Texture messageBoxTexture;
-    private Texture cellTexture;
-    private Texture selectedCellTexture;
-    private Texture itemCellTexture;
+    private TextureRegion whiteTexture;
+
+    private TextureRegion gridBackgroundTexture;
+    private TextureRegion buttonTexture;
+    private TextureRegion buttonSelectedTexture;
+    private TextureRegion messageBoxTexture;
+    private TextureRegion cellTexture;
+    private TextureRegion selectedCellTexture;
+    private TextureRegion itemCellTexture;
     float playerMaxHealth = 100;
     private MapEvent currentEvent;
 
     // Button areas
-    private Rectangle submitButtonRect, clearButtonRect, exitButtonRect;
+    private Rectangle submitButtonRect = new Rectangle(), clearButtonRect = new Rectangle(), exitButtonRect;
+    private final Rectangle continueButton = new Rectangle();
+    private final Vector3 touchPosition = new Vector3();
+
+    private static final Color TITLE_COLOR = new Color(1, 0.9f, 0.3f, 1);
+    private static final Color ITEM_NAME_COLOR = new Color(0.9f, 0.9f, 0.3f, 1);
+    private static final Color HEALTH_HIGH = new Color(0.3f, 0.9f, 0.3f, 1);
+    private static final Color HEALTH_MEDIUM = new Color(0.9f, 0.9f, 0.2f, 1);
+    private static final Color HEALTH_LOW = new Color(0.9f, 0.2f, 0.2f, 1);
+
+    // Strings built from game state, rebuilt only when that state changes so the text layouts stay cached
+    private String turnText;
+    private boolean turnTextPlayer;
+    private String spellWord = "";
+    private String spellText = "";
+    private String spellMeaning;
+    private final String[] letterStrings = new String[128];
+    private String rewardMessage = "";
+    private String rewardItemText;
 
     // Combat state
     private boolean isCombatMode = false;
@@ -97,29 +118,24 @@ public class GameplayController {
 
     private void initializeUI() {
         // Initialize fonts
-        titleFont = generateVietNameseFont("Tektur-Bold.ttf", 18);
-        regularFont = generateVietNameseFont("Tektur-Bold.ttf", 13);
+        titleFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", 18);
+        regularFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", 13);
         bigFont = regularFont;
 
 
         layout = new GlyphLayout();
         viewport = new FitViewport(1280, 720);
 
-        // Create white texture for drawing colored rectangles
-        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pixmap.setColor(Color.WHITE);
-        pixmap.fill();
-        whiteTexture = new Texture(pixmap);
-        pixmap.dispose();
-
-        // Load UI textures
-        gridBackgroundTexture = new Texture(Gdx.files.internal("ui/grid_bg.png"));
-        buttonTexture = new Texture(Gdx.files.internal("ui/button.png"));
-        buttonSelectedTexture = new Texture(Gdx.files.internal("ui/button_selected.png"));
-        messageBoxTexture = new Texture(Gdx.files.internal("ui/message_box.png"));
-        cellTexture = new Texture(Gdx.files.internal("ui/cell.png"));
-        itemCellTexture = new Texture(Gdx.files.internal("ui/item_cell.png"));
-        selectedCellTexture = new Texture(Gdx.files.internal("ui/selected_cell.png"));
+        // UI regions all come from the shared atlas, so the combat screen draws from one page
+        AssetManager assetManager = gameController.getAssetManager();
+        whiteTexture = assetManager.getWhiteRegion();
+        gridBackgroundTexture = assetManager.getRegion("ui/grid_bg.png");
+        buttonTexture = assetManager.getRegion("ui/button.png");
+        buttonSelectedTexture = assetManager.getRegion("ui/button_selected.png");
+        messageBoxTexture = assetManager.getRegion("ui/message_box.png");
+        cellTexture = assetManager.getRegion("ui/cell.png");
+        itemCellTexture = assetManager.getRegion("ui/item_cell.png");
+        selectedCellTexture = assetManager.getRegion("ui/selected_cell.png");
 
         // Initialize button rectangles
 //        submitButtonRect = new Rectangle(900, 350, 200, 50);
@@ -139,35 +155,8 @@ public class GameplayController {
         float maxWidth = width - 40;
         float lineHeight = regularFont.getLineHeight() + 5;
 
-        regularFont.setColor(Color.WHITE);
-
-        // Split message into lines (in case of manual \n)
-        String[] paragraphs = message.split("\n");
-
-        for (String paragraph : paragraphs) {
-            String[] words = paragraph.split(" ");
-            StringBuilder line = new StringBuilder();
-
-            for (String word : words) {
-                String testLine = line.length() == 0 ? word : line + " " + word;
-                layout.setText(regularFont, testLine);
-
-                if (layout.width > maxWidth) {
-                    // Draw current line and reset
-                    regularFont.draw(batch, line.toString(), textX, textY);
-                    textY -= lineHeight;
-                    line = new StringBuilder(word);
-                } else {
-                    line = new StringBuilder(testLine);
-                }
-            }
-
-            // Draw last line of paragraph
-            if (line.length() > 0) {
-                regularFont.draw(batch, line.toString(), textX, textY);
-                textY -= lineHeight;
-            }
-        }
+        // Wrapped once per message (manual \n starts a new line), then drawn from the cache
+        textLayouts.wrap(regularFont, message, Color.WHITE, maxWidth).draw(batch, regularFont, textX, textY, lineHeight);
     }
 
     public void update(float delta) {
@@ -182,10 +171,54 @@ public class GameplayController {
             if (messageTimer <= 0) currentMessage = "";
         }
 
+        // Solve each new grid in the background as soon as it is dealt
+        if (letterGrid.getGeneration() != requestedGeneration) {
+            requestedGeneration = letterGrid.getGeneration();
+            gridSolution = null;
+            gridSummaryText = null;
+            gridSolver.solve(letterGrid.copyLetters(), requestedGeneration, this::onGridSolved);
+        }
+
         // Update appropriate mode
         if (isCombatMode) updateCombat(delta);
     }
 
+    private void onGridSolved(int generation, GridSolution solution) {
+        if (generation != letterGrid.getGeneration()) return; // letters changed meanwhile
+
+        GridSolution replacement = solution.getReplacement();
+        if (replacement != null && letterGrid.replaceLetters(replacement.getLetters())) {
+            // Too few words on the dealt grid; the better one is already solved
+            solution = replacement;
+            requestedGeneration = letterGrid.getGeneration();
+        }
+        applyGridSolution(solution);
+    }
+
+    private void applyGridSolution(GridSolution solution) {
+        gridSolution = solution;
+        gridSummaryText = "Có thể ghép " + solution.getPlayableWords() + " từ - tối đa " + solution.getBestScore() + " điểm";
+    }
+
+    // Next grid from the generator's queue, already solved; a random grid if the queue ran dry
+    private void dealGrid() {
+        GridSolution next = gridGenerator.poll();
+        if (next == null) {
+            letterGrid.regenerateGrid(); // solved in the background by update()
+            return;
+        }
+        letterGrid.setLetters(next.getLetters());
+        requestedGeneration = letterGrid.getGeneration();
+        applyGridSolution(next);
+    }
+
+    // Validity from the grid's precomputed words when they are ready, otherwise from WordNet
+    private boolean isValidGridWord(String word) {
+        if (gameController.getCharacter().getLearnedWords().contains(word.toUpperCase())) return true;
+        GridSolution solution = gridSolution;
+        return solution != null ? solution.contains(word) : wordValidator.isValidWord(word);
+    }
+
     private void spawnAttackEffect(float x, float y) {
         effectManager.spawnEffect("attack", x, y);
     }
@@ -223,9 +256,10 @@ public class GameplayController {
     }
 
     private Vector3 getTouchPosition() {
-        Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        viewport.unproject(touchPos);
-        return touchPos;
+        // Reused every call; copy the values if they have to outlive the frame
+        touchPosition.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+        viewport.unproject(touchPosition);
+        return touchPosition;
     }
 
     private void checkGridClick(float x, float y) {
@@ -288,12 +322,12 @@ public class GameplayController {
         Items item = reward.getItemID();
 
         // Title
-        drawCenteredText(batch, titleFont, "CHIẾN THĂNG!", viewport.getWorldWidth() / 2, panelY + panelHeight - 50, new Color(1, 0.9f, 0.3f, 1));
+        drawCenteredText(batch, titleFont, "CHIẾN THĂNG!", viewport.getWorldWidth() / 2, panelY + panelHeight - 50, TITLE_COLOR);
 
         // Enemy defeated message
-        drawCenteredText(batch, regularFont, "Bạn đã thua " + enemyName + "!",
+        drawCenteredText(batch, regularFont, rewardMessage,
                 viewport.getWorldWidth() / 2, panelY + panelHeight - 100, Color.WHITE);
-        Texture itemTexture = null;
+        TextureRegion itemTexture = null;
         // Draw reward item
         if (item != null) {
             try {
@@ -311,35 +345,16 @@ public class GameplayController {
             float textX = panelX + 180;
             float textY = panelY + panelHeight / 2 + 30;
 
-            regularFont.setColor(new Color(0.9f, 0.9f, 0.3f, 1));
-            regularFont.draw(batch, item.getItemName() + " x" + reward.getAmount(), textX, textY);
+            if (rewardItemText == null) {
+                rewardItemText = item.getItemName() + " x" + reward.getAmount();
+            }
+            regularFont.draw(batch, textLayouts.layout(regularFont, rewardItemText, ITEM_NAME_COLOR), textX, textY);
 
-            regularFont.setColor(Color.WHITE);
-            // Wrap long descriptions
+            // Wrap long descriptions, 25px apart starting one line below the item name
             String description = reward.getDescription();
-            float wrapWidth = panelWidth - 200;
-            float lineHeight = 25;
-
-            int startIndex = 0;
-            int lastSpace = 0;
-            float lineWidth = 0;
-
-            for (int i = 0; i < description.length(); i++) {
-                char c = description.charAt(i);
-                layout.setText(regularFont, String.valueOf(c));
-                lineWidth += layout.width;
-
-                if (c == ' ') lastSpace = i;
-
-                if (lineWidth > wrapWidth || i == description.length() - 1) {
-                    int endIndex = (lineWidth > wrapWidth && lastSpace > startIndex) ? lastSpace : i + 1;
-                    String line = description.substring(startIndex, endIndex);
-                    regularFont.draw(batch, line, textX, textY - lineHeight);
-                    lineHeight += 25;
-                    startIndex = endIndex;
-                    if (startIndex < description.length() && description.charAt(startIndex) == ' ') startIndex++;
-                    lineWidth = 0;
-                }
+            if (description != null) {
+                textLayouts.wrap(regularFont, description, Color.WHITE, panelWidth - 200)
+                        .draw(batch, regularFont, textX, textY - 25, 25);
             }
         }
 
@@ -349,7 +364,7 @@ public class GameplayController {
         float buttonX = viewport.getWorldWidth() / 2 - buttonWidth / 2;
         float buttonY = panelY + 50;
 
-        Rectangle continueButton = new Rectangle(buttonX, buttonY, buttonWidth, buttonHeight);
+        continueButton.set(buttonX, buttonY, buttonWidth, buttonHeight);
 
         drawButton(batch, continueButton, "Tiếp tục");
 
@@ -405,7 +420,11 @@ public class GameplayController {
 
         regularFont.setColor(Color.WHITE);
 //        regularFont.draw(batch, combatLog, 80, 170);
-        drawCenteredText(batch, regularFont, "Lượt của " + (isPlayerTurn ? "Bạn" : enemyName), viewport.getWorldWidth() / 2, 700, Color.WHITE);
+        if (turnText == null || turnTextPlayer != isPlayerTurn) {
+            turnText = "Lượt của " + (isPlayerTurn ? "Bạn" : enemyName);
+            turnTextPlayer = isPlayerTurn;
+        }
+        drawCenteredText(batch, regularFont, turnText, viewport.getWorldWidth() / 2, 700, Color.WHITE);
 
         // Update and draw buttons
         float buttonX = ((viewport.getWorldWidth() - 70) / 2);
@@ -414,8 +433,8 @@ public class GameplayController {
         float buttonHeight = 50;
         float buttonSpacing = 60;
 
-        submitButtonRect = new Rectangle(buttonX - 90, buttonY, buttonWidth, buttonHeight);
-        clearButtonRect = new Rectangle(buttonX + 32, buttonY, buttonWidth, buttonHeight);
+        submitButtonRect.set(buttonX - 90, buttonY, buttonWidth, buttonHeight);
+        clearButtonRect.set(buttonX + 32, buttonY, buttonWidth, buttonHeight);
 
 
         // Draw compact letter grid and word info during player turn
@@ -423,13 +442,21 @@ public class GameplayController {
             drawCompactLetterGrid(batch);
             drawButton(batch, submitButtonRect, "CAST WORD");
             drawButton(batch, clearButtonRect, "CLEAR");
+            if (gridSummaryText != null) {
+                drawCenteredText(batch, regularFont, gridSummaryText, viewport.getWorldWidth() / 2, 530, Color.LIGHT_GRAY);
+            }
             String currentWord = letterGrid.getCurrentWord();
             if (currentWord.length() > 0) {
-                drawCenteredText(batch, regularFont, "Spell: " + currentWord, viewport.getWorldWidth() / 2, 600, Color.WHITE);
-
+                // Label and meaning are looked up once per spelled word, not every frame
+                if (!currentWord.equals(spellWord)) {
+                    spellWord = currentWord;
+                    spellText = "Spell: " + currentWord;
+                    spellMeaning = isValidGridWord(currentWord) ? wordValidator.getWordMeaning(currentWord) : null;
+                }
+                drawCenteredText(batch, regularFont, spellText, viewport.getWorldWidth() / 2, 600, Color.WHITE);
 
-                if (gameController.getCharacter().getLearnedWords().contains(currentWord.toUpperCase()) || wordValidator.isValidWord(currentWord)) {
-                    drawCenteredText(batch, regularFont, wordValidator.getWordMeaning(currentWord),
+                if (spellMeaning != null) {
+                    drawCenteredText(batch, regularFont, spellMeaning,
                             viewport.getWorldWidth() / 2, 570, Color.WHITE);
                 }
             }
@@ -437,13 +464,21 @@ public class GameplayController {
     }
 
     // Add these fields to the GameplayController class
-    private Map<Rectangle, Items> itemRectMap = new HashMap<>();
+    // Item cells of the last drawn frame; rectangles are pooled and reused
+    private final Array<Rectangle> itemRects = new Array<>();
+    private final Array<Items> itemRectItems = new Array<>();
+    private int itemRectCount = 0;
+    private final ObjectMap<String, String> itemLabels = new ObjectMap<>();
+    private final ObjectIntMap<String> itemLabelAmounts = new ObjectIntMap<>();
+    private final ObjectMap<Items, String> itemTooltips = new ObjectMap<>();
+    private String moreItemsText;
+    private int moreItemsCount = -1;
     private Items hoveredItem = null;
-    private String itemTooltip = "";
 
     private void drawItemBox(SpriteBatch batch, float x, float y, float width, float height) {
         // Clear previous item rectangles
-        itemRectMap.clear();
+        itemRectCount = 0;
+        itemRectItems.clear();
 
         // Draw background
         batch.setColor(Color.WHITE);
@@ -484,8 +519,9 @@ public class GameplayController {
             if (item == null) continue;
 
             // Create item cell rectangle
-            Rectangle itemRect = new Rectangle(x + 10, textY - 35, itemCellWidth, 35);
-            itemRectMap.put(itemRect, item);
+            if (itemRectCount == itemRects.size) itemRects.add(new Rectangle());
+            Rectangle itemRect = itemRects.get(itemRectCount++).set(x + 10, textY - 35, itemCellWidth, 35);
+            itemRectItems.add(item);
 
             // Draw item cell background
             batch.setColor(Color.WHITE);
@@ -499,18 +535,22 @@ public class GameplayController {
             batch.setColor(Color.WHITE);
 
             // Draw item icon
-            Texture itemIcon = item != null ? getItemIcon(item.getTexturePath()) : null;
+            TextureRegion itemIcon = item != null ? getItemIcon(item.getTexturePath()) : null;
             if (itemIcon != null) {
                 batch.draw(itemIcon, x + 20, textY - 30, 32, 32);
             }
 
             // Draw item name and amount
-            regularFont.setColor(isHovered ? Color.YELLOW : Color.WHITE);
-            regularFont.draw(batch, itemName + " x" + amount, textX, textY);
+            String label = itemLabels.get(itemName);
+            if (label == null || itemLabelAmounts.get(itemName, -1) != amount) {
+                label = itemName + " x" + amount;
+                itemLabels.put(itemName, label);
+                itemLabelAmounts.put(itemName, amount);
+            }
+            regularFont.draw(batch, textLayouts.layout(regularFont, label, isHovered ? Color.YELLOW : Color.WHITE), textX, textY);
 
             if (isHovered) {
-                regularFont.setColor(Color.GREEN);
-                regularFont.draw(batch, "[DÙNG]", textX + 120, textY);
+                regularFont.draw(batch, textLayouts.layout(regularFont, "[DÙNG]", Color.GREEN), textX + 120, textY);
             }
 
             textY -= itemHeight;
@@ -520,8 +560,11 @@ public class GameplayController {
         // Show indicator if there are more items
         int remainingItems = characterItems.size() - maxItemsToShow;
         if (remainingItems > 0) {
-            regularFont.setColor(Color.WHITE);
-            regularFont.draw(batch, "... và " + remainingItems + " thêm", textX, textY);
+            if (moreItemsCount != remainingItems) {
+                moreItemsText = "... và " + remainingItems + " thêm";
+                moreItemsCount = remainingItems;
+            }
+            regularFont.draw(batch, textLayouts.layout(regularFont, moreItemsText, Color.WHITE), textX, textY);
         }
 
         // Display tooltip for hovered item
@@ -531,23 +574,21 @@ public class GameplayController {
         }
     }
 
-    public Texture getItemIcon(String itemPath) {
-        if (!textureCache.containsKey(itemPath)) {
-            textureCache.put(itemPath, new Texture(Gdx.files.internal(itemPath)));
-        }
-        return textureCache.get(itemPath);
+    public TextureRegion getItemIcon(String itemPath) {
+        return gameController.getAssetManager().getRegion(itemPath);
 
     }
 
     private void drawItemTooltip(SpriteBatch batch, float x, float y, Items item) {
         if (item == null) return;
 
-        String effect = item.getItemEffect();
-        float value = item.getValue();
-
-        String tooltip = item.getItemName() + "\n" +
-                "Hiệu quả: " + effect + "\n" +
-                "Chỉ số: " + value;
+        String tooltip = itemTooltips.get(item);
+        if (tooltip == null) {
+            tooltip = item.getItemName() + "\n" +
+                    "Hiệu quả: " + item.getItemEffect() + "\n" +
+                    "Chỉ số: " + item.getValue();
+            itemTooltips.put(item, tooltip);
+        }
 
         float tooltipWidth = 200;
         float tooltipHeight = 80;
@@ -568,39 +609,14 @@ public class GameplayController {
     }
 
     private void drawWrappedText(SpriteBatch batch, BitmapFont font, String text, float x, float y, float maxWidth) {
-        String[] lines = text.split("\n");
-        float lineHeight = font.getLineHeight();
-        float currentY = y;
-
-        for (String line : lines) {
-            String[] words = line.split(" ");
-            StringBuilder wrappedLine = new StringBuilder();
-
-            for (String word : words) {
-                String testLine = wrappedLine.length() == 0 ? word : wrappedLine + " " + word;
-                GlyphLayout layout = new GlyphLayout(font, testLine);
-
-                if (layout.width > maxWidth) {
-                    font.draw(batch, wrappedLine.toString(), x, currentY);
-                    currentY -= lineHeight + 5;
-                    wrappedLine = new StringBuilder(word);
-                } else {
-                    wrappedLine = new StringBuilder(testLine);
-                }
-            }
-
-            if (wrappedLine.length() > 0) {
-                font.draw(batch, wrappedLine.toString(), x, currentY);
-                currentY -= lineHeight + 5;
-            }
-        }
+        textLayouts.wrap(font, text, font.getColor(), maxWidth).draw(batch, font, x, y, font.getLineHeight() + 5);
     }
 
     // Add this method to handle item usage
     private boolean handleItemBoxClick(float x, float y) {
-        for (Map.Entry<Rectangle, Items> entry : itemRectMap.entrySet()) {
-            if (entry.getKey().contains(x, y)) {
-                useItem(entry.getValue());
+        for (int i = 0; i < itemRectCount; i++) {
+            if (itemRects.get(i).contains(x, y)) {
+                useItem(itemRectItems.get(i));
                 return true;
             }
 
@@ -651,16 +667,15 @@ public class GameplayController {
 
 
     private void drawCenteredText(SpriteBatch batch, BitmapFont font, String text, float x, float y, Color color) {
-        layout.setText(font, text);
-        font.setColor(color);
-        font.draw(batch, text, x - layout.width / 2, y);
+        GlyphLayout textLayout = textLayouts.layout(font, text, color);
+        font.draw(batch, textLayout, x - textLayout.width / 2, y);
     }
 
     private void drawCombatCharacter(SpriteBatch batch, String name, float currentHealth,
                                      float maxHealth, float x, float y, boolean isPlayer) {
         // Draw character image
         batch.setColor(1, 1, 1, 1);
-        Texture characterTexture = getCharacterTexture(isPlayer ? "characters/player.png" : this.enemy.getTexturePath());
+        TextureRegion characterTexture = getCharacterTexture(isPlayer ? "characters/player.png" : this.enemy.getTexturePath());
         if (characterTexture != null) {
             float imgSize = 150;
             batch.draw(characterTexture, x + 60, y - imgSize - 100, imgSize, imgSize);
@@ -696,22 +711,23 @@ public class GameplayController {
                 }
 
                 // Draw letter
-                String letter = String.valueOf(grid[y][x]);
-                layout.setText(regularFont, letter);
-                regularFont.setColor(Color.BLACK);
+                GlyphLayout letter = textLayouts.layout(regularFont, letterString(grid[y][x]), Color.BLACK);
                 regularFont.draw(batch, letter,
-                        screenX + (cellSize - layout.width) / 2,
-                        screenY + cellSize - (cellSize - layout.height) / 2);
+                        screenX + (cellSize - letter.width) / 2,
+                        screenY + cellSize - (cellSize - letter.height) / 2);
             }
         }
         batch.setColor(Color.WHITE);
     }
 
-    private Texture getCharacterTexture(String name) {
-        if (!textureCache.containsKey(name)) {
-            textureCache.put(name, new Texture(Gdx.files.internal(name)));
-        }
-        return textureCache.get(name);
+    private String letterString(char c) {
+        if (c >= letterStrings.length) return String.valueOf(c);
+        if (letterStrings[c] == null) letterStrings[c] = String.valueOf(c);
+        return letterStrings[c];
+    }
+
+    private TextureRegion getCharacterTexture(String name) {
+        return gameController.getAssetManager().getRegion(name);
     }
 
     private void drawPokemonHealthBar(SpriteBatch batch, String name, float current, float max, float x, float y) {
@@ -739,9 +755,9 @@ public class GameplayController {
     }
 
     private Color getHealthColor(float percentage) {
-        if (percentage > 0.5f) return new Color(0.3f, 0.9f, 0.3f, 1);
-        else if (percentage > 0.2f) return new Color(0.9f, 0.9f, 0.2f, 1);
-        else return new Color(0.9f, 0.2f, 0.2f, 1);
+        if (percentage > 0.5f) return HEALTH_HIGH;
+        else if (percentage > 0.2f) return HEALTH_MEDIUM;
+        else return HEALTH_LOW;
     }
 
     // Helper to draw rectangle borders
@@ -763,11 +779,10 @@ public class GameplayController {
         batch.draw(isSelected ? buttonSelectedTexture : buttonTexture,
                 buttonRect.x, buttonRect.y, buttonRect.width, buttonRect.height);
 
-        layout.setText(regularFont, text);
-        regularFont.setColor(Color.WHITE);
-        regularFont.draw(batch, text,
-                buttonRect.x + (buttonRect.width - layout.width) / 2,
-                buttonRect.y + (buttonRect.height + layout.height) / 2);
+        GlyphLayout label = textLayouts.layout(regularFont, text, Color.WHITE);
+        regularFont.draw(batch, label,
+                buttonRect.x + (buttonRect.width - label.width) / 2,
+                buttonRect.y + (buttonRect.height + label.height) / 2);
     }
 
     private void performEnemyAction() {
@@ -797,7 +812,7 @@ public class GameplayController {
         }, 0.5f);
         if (isCombatMode) {
             isPlayerTurn = true;
-            letterGrid.regenerateGrid();
+            dealGrid();
         }
     }
 
@@ -840,7 +855,7 @@ public class GameplayController {
             return false;
         }
 
-        if (gameController.getCharacter().getLearnedWords().contains(word.toUpperCase()) || wordValidator.isValidWord(word)) {
+        if (isValidGridWord(word)) {
             int points = getTotalScore(wordValidator.getWordDetails(word));
             System.out.println("Word: " + word + ", Points: " + points);
 
@@ -877,7 +892,7 @@ public class GameplayController {
                 showMessage("+" + points + " points!");
             }
 
-            letterGrid.regenerateGrid();
+            dealGrid();
             return true;
         } else {
             showMessage("Not a valid word!");
@@ -901,7 +916,16 @@ public class GameplayController {
         this.isCombatMode = true;
         this.isPlayerTurn = true;
         this.combatLog = "Bắt đầu cạnh tranh với " + enemyName + "!";
-        letterGrid.regenerateGrid();
+        this.turnText = null;
+        this.rewardMessage = "Bạn đã thua " + enemyName + "!";
+        this.rewardItemText = null;
+        gridGenerator.setLearnedWords(gameController.getCharacter().getLearnedWords());
+        dealGrid();
+    }
+
+    // A save was loaded: let the generator queue grids with the player's words before the first combat
+    public void onLearnedWordsLoaded() {
+        gridGenerator.setLearnedWords(gameController.getCharacter().getLearnedWords());
     }
 
     public MapEvent getCurrentEvent() {
@@ -915,7 +939,7 @@ public class GameplayController {
     // Core game functions
     public void activate() {
         this.active = true;
-        letterGrid.regenerateGrid();
+        dealGrid();
         currentScore = 0;
         currentMessage = "";
         viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
@@ -966,10 +990,11 @@ public class GameplayController {
 
     public void dispose() {
         active = false;
-        for (Texture texture : textureCache.values()) {
-            texture.dispose();
-        }
-        textureCache.clear();
+        gridSolver.dispose();
+        gridGenerator.dispose();
+        // Regions are owned by the AssetManager; bigFont is the same handle as regularFont
+        gameController.getAssetManager().release(titleFont);
+        gameController.getAssetManager().release(regularFont);
 
 //        if (effectManager != null) {
 //            effectManager.dispose();
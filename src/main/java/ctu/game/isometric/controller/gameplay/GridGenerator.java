@@ -0,0 +1,185 @@
+package ctu.game.isometric.controller.gameplay;
+
+import ctu.game.isometric.model.game.GridSolution;
+import ctu.game.isometric.model.game.LetterGrid;
+import ctu.game.isometric.util.WordLexicon;
+import ctu.game.isometric.util.WordNetValidator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Deals letter grids ahead of time on a worker thread, keeping only grids that meet the constraints:
+// enough playable words, a best word inside the score band and, when the player has learned words,
+// one of them spelled on the grid. Combat takes finished grids (letters and solution) from the queue
+// and never waits; when the queue is empty it falls back to a random grid solved by GridSolver.
+public class GridGenerator {
+    private static final int QUEUE_SIZE = 4;
+    private static final int MAX_ATTEMPTS = 64; // per grid; the best candidate is kept after that
+    private static final String VOWELS = "AEIOU";
+    private static final int MIN_VOWELS = 6;
+    private static final int MAX_VOWELS = 11;
+
+    public static class Constraints {
+        public int minPlayableWords = GridSolver.MIN_PLAYABLE_WORDS;
+        // Scores as submitWord awards them (see GridSolver.solve), WordNet bonuses included
+        public int minBestScore = 8;   // at least a 5 letter word with its usual bonuses
+        public int maxBestScore = 38;  // no grid that hands out a huge word
+        public boolean guaranteeLearnedWord = true;
+    }
+
+    private final Constraints constraints;
+    // A finished grid and the learned word written into it (null when none was)
+    private static final class Dealt {
+        final GridSolution solution;
+        final String learnedWord;
+
+        Dealt(GridSolution solution, String learnedWord) {
+            this.solution = solution;
+            this.learnedWord = learnedWord;
+        }
+    }
+
+    private final BlockingQueue<Dealt> ready = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Random random = new Random();
+    private volatile List<String> learnedWords = Collections.emptyList();
+    private final Thread worker;
+
+    public GridGenerator(Constraints constraints) {
+        this.constraints = constraints;
+        this.worker = new Thread(this::run, "grid-generator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Words the player already knows; grids generated from now on spell one of them
+    public void setLearnedWords(Collection<String> words) {
+        List<String> usable = new ArrayList<>();
+        for (String word : words) {
+            String upper = word.toUpperCase();
+            if (upper.length() >= LetterGrid.MIN_PLAYABLE_LENGTH && upper.length() <= 8 && isPlainLetters(upper)) {
+                usable.add(upper);
+            }
+        }
+        // Grids already queued were dealt with the old words; poll() drops those that no longer qualify
+        learnedWords = usable;
+    }
+
+    // A finished grid, or null when the worker has not caught up; never blocks
+    public GridSolution poll() {
+        Dealt dealt;
+        while ((dealt = ready.poll()) != null) {
+            if (spellsLearnedWord(dealt)) return dealt.solution;
+            // Dealt before the current learned words were known (e.g. queued at startup); the worker
+            // takes the free slot and deals a grid that has one
+        }
+        return null;
+    }
+
+    // The learned-word constraint, checked against the words known now rather than when the grid was dealt
+    private boolean spellsLearnedWord(Dealt dealt) {
+        List<String> words = learnedWords;
+        if (!constraints.guaranteeLearnedWord || words.isEmpty()) return true;
+        return dealt.learnedWord != null && words.contains(dealt.learnedWord);
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WordLexicon lexicon = WordNetValidator.getLexicon();
+                if (lexicon == null) {
+                    Thread.sleep(100); // dictionary still loading
+                    continue;
+                }
+                ready.put(generate(lexicon));
+            }
+        } catch (InterruptedException e) {
+            // dispose
+        }
+    }
+
+    private Dealt generate(WordLexicon lexicon) {
+        Dealt best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        char[][] letters = new char[LetterGrid.GRID_SIZE][LetterGrid.GRID_SIZE];
+        String learnedWord = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            learnedWord = deal(letters);
+            // Cheap reject before walking the lexicon: too few or too many vowels rarely make good grids
+            int vowels = countVowels(letters);
+            if (vowels < MIN_VOWELS || vowels > MAX_VOWELS) continue;
+
+            GridSolution candidate = GridSolver.solve(lexicon, copy(letters));
+            int distance = distance(candidate);
+            if (distance == 0) return new Dealt(candidate, learnedWord);
+            if (distance < bestDistance) {
+                best = new Dealt(candidate, learnedWord);
+                bestDistance = distance;
+            }
+        }
+        return best != null ? best : new Dealt(GridSolver.solve(lexicon, copy(letters)), learnedWord);
+    }
+
+    // Letters by frequency, then a learned word written over randomly chosen cells. Returns that word.
+    private String deal(char[][] letters) {
+        LetterGrid.fillRandom(letters, random);
+        List<String> words = learnedWords;
+        if (!constraints.guaranteeLearnedWord || words.isEmpty()) return null;
+
+        String word = words.get(random.nextInt(words.size()));
+        int cells = LetterGrid.GRID_SIZE * LetterGrid.GRID_SIZE;
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) order[i] = i;
+        for (int i = 0; i < word.length(); i++) {
+            int pick = i + random.nextInt(cells - i);
+            int cell = order[pick];
+            order[pick] = order[i];
+            order[i] = cell;
+            letters[cell / LetterGrid.GRID_SIZE][cell % LetterGrid.GRID_SIZE] = word.charAt(i);
+        }
+        return word;
+    }
+
+    // 0 when the grid meets every constraint, otherwise how far off it is
+    private int distance(GridSolution solution) {
+        int distance = Math.max(0, constraints.minPlayableWords - solution.getPlayableWords());
+        if (solution.getBestScore() < constraints.minBestScore) {
+            distance += constraints.minBestScore - solution.getBestScore();
+        } else if (solution.getBestScore() > constraints.maxBestScore) {
+            distance += solution.getBestScore() - constraints.maxBestScore;
+        }
+        return distance;
+    }
+
+    private static int countVowels(char[][] letters) {
+        int vowels = 0;
+        for (char[] row : letters) {
+            for (char c : row) {
+                if (VOWELS.indexOf(c) >= 0) vowels++;
+            }
+        }
+        return vowels;
+    }
+
+    private static boolean isPlainLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+
+    private static char[][] copy(char[][] letters) {
+        char[][] copy = new char[letters.length][];
+        for (int y = 0; y < letters.length; y++) copy[y] = letters[y].clone();
+        return copy;
+    }
+
+    public void dispose() {
+        worker.interrupt();
+    }
+}
@@ -0,0 +1,119 @@
+package ctu.game.isometric.controller.gameplay;
+
+import com.badlogic.gdx.Gdx;
+import ctu.game.isometric.model.game.GridSolution;
+import ctu.game.isometric.model.game.LetterGrid;
+import ctu.game.isometric.util.WordLexicon;
+import ctu.game.isometric.util.WordNetValidator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+// Finds every word that can be spelled on a letter grid, on a worker thread, as soon as the grid is
+// dealt. Cells can be picked in any order (LetterGrid only forbids reusing a cell), so a word fits
+// when the grid holds each of its letters often enough; the lexicon automaton is walked with the
+// grid's letter counts. Grids with too few playable words get a replacement dealt on the worker.
+// Results are handed back on the render thread with Gdx.app.postRunnable.
+public class GridSolver {
+    // Fewer playable words than this and the grid is dealt again
+    public static final int MIN_PLAYABLE_WORDS = 15;
+    private static final int MAX_REDEALS = 8;
+
+    private final ExecutorService executor;
+    private final Random random = new Random();
+    private Future<?> running;
+
+    public GridSolver() {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Called on the render thread; a newer request replaces one that has not finished yet.
+    // onSolved receives the generation it was asked for and the solution.
+    public void solve(char[][] letters, int generation, BiConsumer<Integer, GridSolution> onSolved) {
+        if (running != null) {
+            running.cancel(true);
+        }
+        running = executor.submit(() -> {
+            WordLexicon lexicon = WordNetValidator.getLexicon();
+            if (lexicon == null) return;
+
+            GridSolution solution = solve(lexicon, letters);
+            if (solution.getPlayableWords() < MIN_PLAYABLE_WORDS) {
+                GridSolution replacement = redeal(lexicon);
+                // Swapping letters under the player is only worth it for a richer grid
+                if (replacement != null && replacement.getPlayableWords() > solution.getPlayableWords()) {
+                    solution.setReplacement(replacement);
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) return;
+            Gdx.app.postRunnable(() -> onSolved.accept(generation, solution));
+        });
+    }
+
+    // All lexicon words that can be spelled from letters, with the best single-word score. The score
+    // is the one submitWord awards (length, rare letters, part of speech and synonyms); the WordNet
+    // part is only looked up for words whose length and letters alone could still beat the best.
+    public static GridSolution solve(WordLexicon lexicon, char[][] letters) {
+        int[] counts = new int[26];
+        for (char[] row : letters) {
+            for (char c : row) {
+                if (c >= 'A' && c <= 'Z') counts[c - 'A']++;
+            }
+        }
+
+        Set<String> words = new HashSet<>();
+        int[] playable = {0};
+        lexicon.collectWords(counts, WordNetValidator.MIN_WORD_LENGTH, WordNetValidator.MAX_WORD_LENGTH, (found, length) -> {
+            String word = new String(found, 0, length);
+            if (words.add(word) && length >= LetterGrid.MIN_PLAYABLE_LENGTH) playable[0]++;
+        });
+
+        List<String> byBaseScore = new ArrayList<>(words);
+        byBaseScore.sort((a, b) -> WordNetValidator.getTotalScore(b) - WordNetValidator.getTotalScore(a));
+        int maxBonus = WordNetValidator.getMaxLexicalBonus();
+        String best = null;
+        int bestScore = 0;
+        for (String word : byBaseScore) {
+            if (WordNetValidator.getTotalScore(word) + maxBonus <= bestScore) break;
+            int score = WordNetValidator.getLemmaScore(word);
+            if (score > bestScore) {
+                bestScore = score;
+                best = word;
+            }
+        }
+        return new GridSolution(letters, words, playable[0], best, bestScore);
+    }
+
+    // Deal fresh grids until one has enough words; the richest one wins if none does
+    private GridSolution redeal(WordLexicon lexicon) {
+        GridSolution best = null;
+        for (int i = 0; i < MAX_REDEALS && !Thread.currentThread().isInterrupted(); i++) {
+            char[][] letters = new char[LetterGrid.GRID_SIZE][LetterGrid.GRID_SIZE];
+            LetterGrid.fillRandom(letters, random);
+            GridSolution candidate = solve(lexicon, letters);
+            if (best == null || candidate.getPlayableWords() > best.getPlayableWords()) {
+                best = candidate;
+            }
+            if (best.getPlayableWords() >= MIN_PLAYABLE_WORDS) break;
+        }
+        return best;
+    }
+
+    public void dispose() {
+        if (running != null) {
+            running.cancel(true);
+        }
+        executor.shutdownNow();
+    }
+}
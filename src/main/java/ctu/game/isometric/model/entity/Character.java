@@ -88,6 +88,14 @@ public class Character {
     private Array<int[]> currentPath = new Array<>();
     private int currentPathIndex = 0;
 
+    public Array<int[]> getCurrentPath() {
+        return currentPath;
+    }
+
+    public int getCurrentPathIndex() {
+        return currentPathIndex;
+    }
+
     public void setPath(Array<int[]> path) {
         this.currentPath = path;
         this.currentPathIndex = 0;
@@ -98,6 +106,15 @@ public class Character {
         }
     }
 
+    // Extend the path being walked, e.g. when the rest of a background plan arrives after its prefix
+    public void appendPath(Array<int[]> path) {
+        if (currentPath.size == 0) {
+            setPath(path);
+        } else {
+            currentPath.addAll(path);
+        }
+    }
+
 
 
     public boolean hasItem(String itemName) {
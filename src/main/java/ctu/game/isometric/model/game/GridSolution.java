@@ -0,0 +1,35 @@
+package ctu.game.isometric.model.game;
+
+import java.util.Set;
+
+// Every word that can be spelled on one letter grid, worked out when the grid was dealt. Words are
+// upper case. replacement is set when the grid had too few words and the solver dealt a better one.
+public class GridSolution {
+    private final char[][] letters;
+    private final Set<String> words;
+    private final int playableWords; // words of at least LetterGrid.MIN_PLAYABLE_LENGTH letters
+    private final String bestWord;
+    private final int bestScore;
+    private GridSolution replacement;
+
+    public GridSolution(char[][] letters, Set<String> words, int playableWords, String bestWord, int bestScore) {
+        this.letters = letters;
+        this.words = words;
+        this.playableWords = playableWords;
+        this.bestWord = bestWord;
+        this.bestScore = bestScore;
+    }
+
+    public boolean contains(String word) {
+        return words.contains(word);
+    }
+
+    public char[][] getLetters() { return letters; }
+    public Set<String> getWords() { return words; }
+    public int getWordCount() { return words.size(); }
+    public int getPlayableWords() { return playableWords; }
+    public String getBestWord() { return bestWord; }
+    public int getBestScore() { return bestScore; }
+    public GridSolution getReplacement() { return replacement; }
+    public void setReplacement(GridSolution replacement) { this.replacement = replacement; }
+}
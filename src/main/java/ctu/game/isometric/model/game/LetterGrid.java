@@ -5,7 +5,9 @@ import java.util.List;
 import java.util.Random;
 
 public class LetterGrid {
-    private static final int GRID_SIZE = 5;
+    public static final int GRID_SIZE = 5;
+    // Shortest word the combat screen asks the player for
+    public static final int MIN_PLAYABLE_LENGTH = 3;
     private char[][] grid;
     private boolean[][] selectedCells;
     private List<int[]> currentSelection;
@@ -13,6 +15,8 @@ public class LetterGrid {
     // Letter frequencies based on English language
     private static final String LETTERS = "EEEEEEEEEEAAAAAARRRRRRIIIIIIOOOOOOTTTTTTNNNNNNSSSSSSLLLLUUUUUDDDGGBBCCMMPPFFHHVVWWYYKJXQZ";
     private Random random;
+    // Bumped whenever the letters change, so a solution worked out for older letters can be told apart
+    private int generation = 0;
 
     public LetterGrid() {
         grid = new char[GRID_SIZE][GRID_SIZE];
@@ -23,17 +27,47 @@ public class LetterGrid {
     }
 
     public void regenerateGrid() {
+        fillRandom(grid, random);
         for (int y = 0; y < GRID_SIZE; y++) {
             for (int x = 0; x < GRID_SIZE; x++) {
-                grid[y][x] = getRandomLetter();
                 selectedCells[y][x] = false;
             }
         }
         currentSelection.clear();
+        generation++;
     }
 
-    private char getRandomLetter() {
-        return LETTERS.charAt(random.nextInt(LETTERS.length()));
+    // Deal a full grid of letters, weighted by English letter frequency
+    public static void fillRandom(char[][] letters, Random random) {
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                letters[y][x] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+        }
+    }
+
+    // Swap in letters dealt elsewhere (e.g. by the solver); only while nothing is selected
+    public boolean replaceLetters(char[][] letters) {
+        if (!currentSelection.isEmpty()) return false;
+        setLetters(letters);
+        return true;
+    }
+
+    // New grid with letters dealt elsewhere (e.g. by the generator)
+    public void setLetters(char[][] letters) {
+        clearSelection();
+        for (int y = 0; y < GRID_SIZE; y++) {
+            System.arraycopy(letters[y], 0, grid[y], 0, GRID_SIZE);
+        }
+        generation++;
+    }
+
+    public char[][] copyLetters() {
+        char[][] copy = new char[GRID_SIZE][];
+        for (int y = 0; y < GRID_SIZE; y++) {
+            copy[y] = grid[y].clone();
+        }
+        return copy;
     }
 
     public boolean canSelect(int x, int y) {
@@ -74,4 +108,5 @@ public class LetterGrid {
     public char[][] getGrid() { return grid; }
     public boolean[][] getSelectedCells() { return selectedCells; }
     public List<int[]> getCurrentSelection() { return currentSelection; }
+    public int getGeneration() { return generation; }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package ctu.game.isometric.model.world;
+
+// Labels the walkable regions of a map so "can I get there at all?" is an O(1) lookup.
+// Tiles are flood-filled per chunk first, then the chunk-local regions are joined across chunk borders
+// with a union-find. A walkability change only relabels its own chunk and re-runs the border joins.
+public class ConnectivityIndex {
+    private static final int CHUNK_SIZE = IsometricMap.CHUNK_SIZE;
+    // A 4-connected 16x16 chunk holds at most 128 separate regions (checkerboard)
+    private static final int MAX_LOCAL = CHUNK_SIZE * CHUNK_SIZE / 2;
+
+    private final IsometricMap map;
+    private final int width, height;
+    private final int chunksX, chunksY;
+
+    private final int[] localLabels;  // per tile: chunk * MAX_LOCAL + region, or -1 when not walkable
+    private final int[] localCounts;  // regions per chunk
+    private final int[] parent;       // union-find over local labels
+    private final int[] components;   // flattened: local label -> component id
+    private final boolean[] dirtyChunks;
+    private boolean dirty = false;
+    private final int[] queue = new int[CHUNK_SIZE * CHUNK_SIZE];
+
+    public ConnectivityIndex(IsometricMap map) {
+        this.map = map;
+        this.width = map.getMapWidth();
+        this.height = map.getMapHeight();
+        this.chunksX = map.getChunksX();
+        this.chunksY = map.getChunksY();
+
+        int chunkCount = chunksX * chunksY;
+        localLabels = new int[width * height];
+        localCounts = new int[chunkCount];
+        parent = new int[chunkCount * MAX_LOCAL];
+        components = new int[chunkCount * MAX_LOCAL];
+        dirtyChunks = new boolean[chunkCount];
+
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                labelChunk(cx, cy);
+            }
+        }
+        join();
+    }
+
+    // Component id of a tile, or -1 if it is outside the map or not walkable
+    public int getComponent(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return -1;
+        }
+        if (dirty) {
+            refresh();
+        }
+        int label = localLabels[y * width + x];
+        return label < 0 ? -1 : components[label];
+    }
+
+    public boolean isConnected(int x1, int y1, int x2, int y2) {
+        int component = getComponent(x1, y1);
+        return component >= 0 && component == getComponent(x2, y2);
+    }
+
+    // Called by IsometricMap.setWalkable; the work is deferred to the next query
+    public void markDirty(int chunkX, int chunkY) {
+        dirtyChunks[chunkY * chunksX + chunkX] = true;
+        dirty = true;
+    }
+
+    private void refresh() {
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                int chunk = cy * chunksX + cx;
+                if (dirtyChunks[chunk]) {
+                    labelChunk(cx, cy);
+                    dirtyChunks[chunk] = false;
+                }
+            }
+        }
+        join();
+        dirty = false;
+    }
+
+    // Flood-fill the walkable tiles of one chunk into chunk-local regions
+    private void labelChunk(int cx, int cy) {
+        int chunk = cy * chunksX + cx;
+        int startX = cx * CHUNK_SIZE, endX = Math.min(startX + CHUNK_SIZE, width);
+        int startY = cy * CHUNK_SIZE, endY = Math.min(startY + CHUNK_SIZE, height);
+
+        for (int y = startY; y < endY; y++) {
+            for (int x = startX; x < endX; x++) {
+                localLabels[y * width + x] = -1;
+            }
+        }
+
+        int regions = 0;
+        for (int y = startY; y < endY; y++) {
+            for (int x = startX; x < endX; x++) {
+                int tile = y * width + x;
+                if (localLabels[tile] >= 0 || !map.isWalkable(x, y)) continue;
+
+                int label = chunk * MAX_LOCAL + regions++;
+                localLabels[tile] = label;
+                int head = 0, tail = 0;
+                queue[tail++] = tile;
+                while (head < tail) {
+                    int current = queue[head++];
+                    int qx = current % width;
+                    int qy = current / width;
+                    if (qx > startX) tail = visit(current - 1, qx - 1, qy, label, tail);
+                    if (qx + 1 < endX) tail = visit(current + 1, qx + 1, qy, label, tail);
+                    if (qy > startY) tail = visit(current - width, qx, qy - 1, label, tail);
+                    if (qy + 1 < endY) tail = visit(current + width, qx, qy + 1, label, tail);
+                }
+            }
+        }
+        localCounts[chunk] = regions;
+    }
+
+    private int visit(int tile, int x, int y, int label, int tail) {
+        if (localLabels[tile] < 0 && map.isWalkable(x, y)) {
+            localLabels[tile] = label;
+            queue[tail++] = tile;
+        }
+        return tail;
+    }
+
+    // Union the chunk-local regions that touch across chunk borders, then flatten to component ids
+    private void join() {
+        for (int chunk = 0; chunk < localCounts.length; chunk++) {
+            int base = chunk * MAX_LOCAL;
+            for (int i = 0; i < localCounts[chunk]; i++) {
+                parent[base + i] = base + i;
+            }
+        }
+
+        for (int x = CHUNK_SIZE - 1; x + 1 < width; x += CHUNK_SIZE) {
+            for (int y = 0; y < height; y++) {
+                union(localLabels[y * width + x], localLabels[y * width + x + 1]);
+            }
+        }
+        for (int y = CHUNK_SIZE - 1; y + 1 < height; y += CHUNK_SIZE) {
+            for (int x = 0; x < width; x++) {
+                union(localLabels[y * width + x], localLabels[(y + 1) * width + x]);
+            }
+        }
+
+        for (int chunk = 0; chunk < localCounts.length; chunk++) {
+            int base = chunk * MAX_LOCAL;
+            for (int i = 0; i < localCounts[chunk]; i++) {
+                components[base + i] = find(base + i);
+            }
+        }
+    }
+
+    private void union(int a, int b) {
+        if (a < 0 || b < 0) return;
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private int find(int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+}
@@ -8,26 +8,48 @@ import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 import ctu.game.isometric.model.entity.Enemy;
+import ctu.game.isometric.util.MapSidecar;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.stream.IntStream;
 
-public class IsometricMap {
+public class IsometricMap implements WalkableGrid {
     private TiledMap tiledMap;
     private int tileWidth = 64;
     private int tileHeight;
     private int mapWidth;
     private int mapHeight;
     private TiledMapTileLayer baseLayer;
-    private boolean[][] walkableCache;
-    private int[][] mapData;
+    private TiledMapTileLayer terrainLayer;
+    // Flat storage indexed by y * mapWidth + x: one bit per tile for walkability, one int per tile for the ground tile ID
+    private long[] walkableBits;
+    private int[] tileIds;
 
     // Chunking system
-    private Map<Long, MapChunk> chunks = new HashMap<>();
-    private static final int CHUNK_SIZE = 16;
+    public static final int CHUNK_SIZE = 16;
     private boolean chunkingEnabled = false;
+    private MapChunk[] chunkSlots;
+
+    // Chunk streaming: resident chunks keep their TiledMap cells, the rest only live as packed IDs in layerTiles.
+    // Resident chunks form an LRU list (most recent at the head) capped at residentChunkBudget.
+    private boolean streamingEnabled = false;
+    private int residentChunkBudget = 256;
+    private int residentChunkCount = 0;
+    private MapChunk lruHead, lruTail;
+    private TiledMapTileLayer[] streamedLayers;
+    private int[][] layerTiles;
+    private static final int FLIP_HORIZONTALLY = 1 << 31;
+    private static final int FLIP_VERTICALLY = 1 << 30;
+    private static final int ROTATION_SHIFT = 28;
+    private static final int TILE_ID_MASK = (1 << ROTATION_SHIFT) - 1;
+
+    // Bumped whenever walkability inside a chunk changes, so path planners can rebuild lazily
+    private int[] chunkVersions;
+    // Bumped when a chunk's cells are edited, so baked render geometry can be rebuilt
+    private int[] tileVersions;
+    private ConnectivityIndex connectivity;
+    private WalkabilitySnapshot walkabilitySnapshot; // rebuilt lazily after setWalkable
 
     public IsometricMap(String tmxFilePath) {
         // Load the TMX file
@@ -42,20 +64,34 @@ public class IsometricMap {
 
         // Assume the first layer is the base layer
         baseLayer = (TiledMapTileLayer) tiledMap.getLayers().get("ground_layer");
+        terrainLayer = (TiledMapTileLayer) tiledMap.getLayers().get("terrain_layer");
+
+        // Initialize data structures, from the binary sidecar when the .tmx has not changed since it was written
+        long contentHash = MapSidecar.hash(tmxFilePath);
+        tileIds = new int[mapWidth * mapHeight];
+        walkableBits = new long[(mapWidth * mapHeight + 63) >>> 6];
+        if (!MapSidecar.read(tmxFilePath, contentHash, mapWidth, mapHeight, tileIds, walkableBits)) {
+            initializeMapData();
+            initializeWalkableCache();
+            MapSidecar.write(tmxFilePath, contentHash, mapWidth, mapHeight, tileIds, walkableBits);
+        }
+        chunkVersions = new int[getChunksX() * getChunksY()];
+        tileVersions = new int[getChunksX() * getChunksY()];
+        chunkSlots = new MapChunk[getChunksX() * getChunksY()];
+        connectivity = new ConnectivityIndex(this);
 
-        // Initialize data structures
-        initializeMapData();
-        initializeWalkableCache();
-
-        // Auto-enable chunking for large maps
+        // Auto-enable chunking (and cell streaming) for large maps
         if (mapWidth * mapHeight > 10000) {
             enableChunking();
+            enableStreaming();
         }
     }
     public TiledMapTileLayer.Cell getCell(int x, int y) {
-        TiledMapTileLayer tiledMapLayer = (TiledMapTileLayer) tiledMap.getLayers().get("terrain_layer");
-        if (tiledMapLayer == null) return null; // Ensure the layer exists
-        return tiledMapLayer.getCell(x, y); // Delegate to the TiledMapTileLayer
+        if (streamingEnabled && x >= 0 && x < mapWidth && y >= 0 && y < mapHeight) {
+            touchChunk(x / CHUNK_SIZE, y / CHUNK_SIZE);
+        }
+        if (terrainLayer == null) return null; // Ensure the layer exists
+        return terrainLayer.getCell(x, y); // Delegate to the TiledMapTileLayer
     }
     // For backwards compatibility
     public IsometricMap() {
@@ -67,15 +103,14 @@ public class IsometricMap {
         this.chunkingEnabled = true;
     }
 
-    // Initialize map data efficiently using parallel processing
+    // Initialize map data efficiently using parallel processing (rows write disjoint ranges)
     public void initializeMapData() {
-        mapData = new int[mapHeight][mapWidth];
-        Arrays.parallelSetAll(mapData, y -> {
-            int[] row = new int[mapWidth];
+        tileIds = new int[mapWidth * mapHeight];
+        IntStream.range(0, mapHeight).parallel().forEach(y -> {
+            int row = y * mapWidth;
             for (int x = 0; x < mapWidth; x++) {
-                row[x] = getTileIdDirect(x, y);
+                tileIds[row + x] = getTileIdDirect(x, y);
             }
-            return row;
         });
     }
 
@@ -88,37 +123,191 @@ public class IsometricMap {
         return 0; // Empty tile
     }
 
-    // Get the tile ID at a specific position - uses chunking if enabled
+    // Get the tile ID at a specific position
     public int getTileId(int x, int y) {
-        if (!chunkingEnabled) {
-            return getTileIdDirect(x, y);
-        } else {
-            MapChunk chunk = getOrCreateChunk(x, y);
-            return chunk.getTileId(x % CHUNK_SIZE, y % CHUNK_SIZE);
+        if (x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) {
+            return 0;
         }
+        return tileIds[y * mapWidth + x];
     }
 
     // Get or create a chunk for the given position
-    private MapChunk getOrCreateChunk(int x, int y) {
-        int chunkX = x / CHUNK_SIZE;
-        int chunkY = y / CHUNK_SIZE;
-        long key = ((long)chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    public MapChunk getOrCreateChunk(int x, int y) {
+        return touchChunk(x / CHUNK_SIZE, y / CHUNK_SIZE);
+    }
+
+    // Make a chunk resident (reloading its cells if it was evicted) and mark it most recently used
+    public MapChunk touchChunk(int chunkX, int chunkY) {
+        int index = chunkY * getChunksX() + chunkX;
+        MapChunk chunk = chunkSlots[index];
+        if (chunk == null) {
+            chunk = new MapChunk(this, chunkX, chunkY);
+            chunkSlots[index] = chunk;
+        }
+        chunk.touch();
+
+        if (chunk.isLoaded()) {
+            if (chunk != lruHead) {
+                unlink(chunk);
+                linkFirst(chunk);
+            }
+            return chunk;
+        }
+
+        chunk.load();
+        linkFirst(chunk);
+        residentChunkCount++;
+        while (residentChunkCount > residentChunkBudget && lruTail != chunk) {
+            MapChunk eldest = lruTail;
+            unlink(eldest);
+            eldest.unload();
+            residentChunkCount--;
+        }
+        return chunk;
+    }
+
+    // Touch every chunk overlapping the tile rectangle, e.g. the camera view
+    public void touchRegion(int minX, int minY, int maxX, int maxY) {
+        int fromX = Math.max(0, minX) / CHUNK_SIZE;
+        int fromY = Math.max(0, minY) / CHUNK_SIZE;
+        int toX = Math.min(mapWidth - 1, maxX) / CHUNK_SIZE;
+        int toY = Math.min(mapHeight - 1, maxY) / CHUNK_SIZE;
+        for (int chunkY = fromY; chunkY <= toY; chunkY++) {
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                touchChunk(chunkX, chunkY);
+            }
+        }
+    }
+
+    // Load the chunks around the remaining path points before the character walks into view of them
+    public void prefetchPath(Array<int[]> path, int fromIndex, int radiusInChunks) {
+        if (!streamingEnabled || path == null) return;
+        int lastChunk = -1;
+        for (int i = Math.max(0, fromIndex); i < path.size; i++) {
+            int[] point = path.get(i);
+            int chunk = (point[1] / CHUNK_SIZE) * getChunksX() + point[0] / CHUNK_SIZE;
+            if (chunk == lastChunk) continue;
+            lastChunk = chunk;
+            int reach = radiusInChunks * CHUNK_SIZE;
+            touchRegion(point[0] - reach, point[1] - reach, point[0] + reach, point[1] + reach);
+        }
+    }
+
+    private void linkFirst(MapChunk chunk) {
+        chunk.lruPrev = null;
+        chunk.lruNext = lruHead;
+        if (lruHead != null) lruHead.lruPrev = chunk;
+        lruHead = chunk;
+        if (lruTail == null) lruTail = chunk;
+    }
+
+    private void unlink(MapChunk chunk) {
+        if (chunk.lruPrev != null) chunk.lruPrev.lruNext = chunk.lruNext;
+        else lruHead = chunk.lruNext;
+        if (chunk.lruNext != null) chunk.lruNext.lruPrev = chunk.lruPrev;
+        else lruTail = chunk.lruPrev;
+        chunk.lruPrev = null;
+        chunk.lruNext = null;
+    }
+
+    // Pack every tile layer into int arrays and drop the Cell objects; chunks recreate them on demand
+    public void enableStreaming() {
+        if (streamingEnabled) return;
+        Array<TiledMapTileLayer> tileLayers = tiledMap.getLayers().getByType(TiledMapTileLayer.class);
+        streamedLayers = tileLayers.toArray(TiledMapTileLayer.class);
+        layerTiles = new int[streamedLayers.length][];
+        for (int i = 0; i < streamedLayers.length; i++) {
+            TiledMapTileLayer layer = streamedLayers[i];
+            int[] packed = new int[mapWidth * mapHeight];
+            for (int y = 0; y < mapHeight; y++) {
+                for (int x = 0; x < mapWidth; x++) {
+                    packed[y * mapWidth + x] = packCell(layer.getCell(x, y));
+                    layer.setCell(x, y, null);
+                }
+            }
+            layerTiles[i] = packed;
+        }
+        streamingEnabled = true;
+    }
+
+    private static int packCell(TiledMapTileLayer.Cell cell) {
+        if (cell == null || cell.getTile() == null) return 0;
+        int packed = cell.getTile().getId() & TILE_ID_MASK;
+        packed |= (cell.getRotation() & 3) << ROTATION_SHIFT;
+        if (cell.getFlipHorizontally()) packed |= FLIP_HORIZONTALLY;
+        if (cell.getFlipVertically()) packed |= FLIP_VERTICALLY;
+        return packed;
+    }
+
+    // Called by MapChunk.load()
+    void materializeChunk(int chunkX, int chunkY) {
+        if (!streamingEnabled) return;
+        int startX = chunkX * CHUNK_SIZE, endX = Math.min(startX + CHUNK_SIZE, mapWidth);
+        int startY = chunkY * CHUNK_SIZE, endY = Math.min(startY + CHUNK_SIZE, mapHeight);
+        for (int i = 0; i < streamedLayers.length; i++) {
+            TiledMapTileLayer layer = streamedLayers[i];
+            int[] packed = layerTiles[i];
+            for (int y = startY; y < endY; y++) {
+                for (int x = startX; x < endX; x++) {
+                    int value = packed[y * mapWidth + x];
+                    TiledMapTile tile = value == 0 ? null : tiledMap.getTileSets().getTile(value & TILE_ID_MASK);
+                    if (tile == null) continue;
+                    TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+                    cell.setTile(tile);
+                    cell.setRotation((value >>> ROTATION_SHIFT) & 3);
+                    cell.setFlipHorizontally((value & FLIP_HORIZONTALLY) != 0);
+                    cell.setFlipVertically((value & FLIP_VERTICALLY) != 0);
+                    layer.setCell(x, y, cell);
+                }
+            }
+        }
+    }
+
+    // Called by MapChunk.unload()
+    void releaseChunk(int chunkX, int chunkY) {
+        if (!streamingEnabled) return;
+        int startX = chunkX * CHUNK_SIZE, endX = Math.min(startX + CHUNK_SIZE, mapWidth);
+        int startY = chunkY * CHUNK_SIZE, endY = Math.min(startY + CHUNK_SIZE, mapHeight);
+        for (TiledMapTileLayer layer : streamedLayers) {
+            for (int y = startY; y < endY; y++) {
+                for (int x = startX; x < endX; x++) {
+                    layer.setCell(x, y, null);
+                }
+            }
+        }
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
 
-        return chunks.computeIfAbsent(key, k -> new MapChunk(this, chunkX, chunkY));
+    public int getResidentChunkBudget() {
+        return residentChunkBudget;
     }
 
-    // Initialize walkable cache
+    // Must stay above the number of chunks the camera can see at maximum zoom-out
+    public void setResidentChunkBudget(int residentChunkBudget) {
+        this.residentChunkBudget = Math.max(1, residentChunkBudget);
+        while (residentChunkCount > this.residentChunkBudget && lruTail != null) {
+            MapChunk eldest = lruTail;
+            unlink(eldest);
+            eldest.unload();
+            residentChunkCount--;
+        }
+    }
 
+    public int getResidentChunkCount() {
+        return residentChunkCount;
+    }
 
-    // Made public so chunks can use it
+    // Evaluates the TMX layers for one tile; only used while building the walkable bitset
     public boolean calculateWalkable(int x, int y) {
         TiledMapTileLayer.Cell cell = baseLayer.getCell(x, y);
         if (cell == null || cell.getTile() == null || cell.getTile().getId() <= 0) {
             return false;
         }
-        TiledMapTileLayer collision = (TiledMapTileLayer) tiledMap.getLayers().get("terrain_layer");
-        if (collision != null) {
-            TiledMapTileLayer.Cell cell2 = collision.getCell(x, y);
+        if (terrainLayer != null) {
+            TiledMapTileLayer.Cell cell2 = terrainLayer.getCell(x, y);
             if (cell2 != null && cell2.getTile() != null) {
                 MapProperties properties = cell2.getTile().getProperties();
                 return properties.containsKey("walkable") && properties.get("walkable", Boolean.class);
@@ -127,31 +316,157 @@ public class IsometricMap {
         return true;
     }
 
-    // Check if a tile is walkable - uses chunking if enabled
+    // Check if a tile is walkable: one bounds check and one bit test
     public boolean isWalkable(int x, int y) {
         if (x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) {
             return false;
         }
+        int index = y * mapWidth + x;
+        return (walkableBits[index >>> 6] & (1L << index)) != 0;
+    }
 
-        if (!chunkingEnabled) {
-            System.out.println("Using walkable cache");
-            return walkableCache[y][x];
+    // Change walkability at runtime (doors, destroyed obstacles...) and mark the owning chunk dirty
+    public void setWalkable(int x, int y, boolean walkable) {
+        if (x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) {
+            return;
+        }
+        int index = y * mapWidth + x;
+        if (walkable) {
+            walkableBits[index >>> 6] |= 1L << index;
         } else {
-            MapChunk chunk = getOrCreateChunk(x, y);
-            return chunk.isWalkable(x % CHUNK_SIZE, y % CHUNK_SIZE);
+            walkableBits[index >>> 6] &= ~(1L << index);
         }
+        chunkVersions[(y / CHUNK_SIZE) * getChunksX() + x / CHUNK_SIZE]++;
+        connectivity.markDirty(x / CHUNK_SIZE, y / CHUNK_SIZE);
+        walkabilitySnapshot = null;
     }
 
-  public void initializeWalkableCache() {
-            walkableCache = new boolean[mapHeight][mapWidth];
-            for (int y = 0; y < mapHeight; y++) {
-                for (int x = 0; x < mapWidth; x++) {
-                    walkableCache[y][x] = calculateWalkable(x, y);
+    // Immutable copy of the current walkability for background path planning; shared until the next change
+    public WalkabilitySnapshot getWalkabilitySnapshot() {
+        if (walkabilitySnapshot == null) {
+            walkabilitySnapshot = new WalkabilitySnapshot(mapWidth, mapHeight, walkableBits, chunkVersions, this);
+        }
+        return walkabilitySnapshot;
+    }
+
+    // True while no tile has changed since the snapshot was taken
+    public boolean isCurrentSnapshot(WalkabilitySnapshot snapshot) {
+        return snapshot != null && snapshot == walkabilitySnapshot;
+    }
+
+    // Walkable region the tile belongs to, or -1 if it is not walkable
+    public int getComponent(int x, int y) {
+        return connectivity.getComponent(x, y);
+    }
+
+    public boolean isConnected(int x1, int y1, int x2, int y2) {
+        return connectivity.isConnected(x1, y1, x2, y2);
+    }
+
+    // Pick the tile a path from (startX, startY) should aim for when the player clicks (goalX, goalY):
+    // the goal itself if reachable, otherwise the closest tile in the start's region.
+    // Returns the packed index y * width + x, or -1 when nothing reachable is close enough.
+    public int resolveGoal(int startX, int startY, int goalX, int goalY, int maxSearchRadius) {
+        int startComponent = getComponent(startX, startY);
+        if (startComponent < 0) {
+            // Standing somewhere odd (e.g. a tile that just became blocked): fall back to plain proximity
+            if (isWalkable(goalX, goalY)) return goalY * mapWidth + goalX;
+            return findClosestWalkable(goalX, goalY, maxSearchRadius);
+        }
+        if (getComponent(goalX, goalY) == startComponent) {
+            return goalY * mapWidth + goalX;
+        }
+        return findClosestWalkable(goalX, goalY, maxSearchRadius, startComponent);
+    }
+
+    @Override
+    public Object getOrigin() {
+        return this;
+    }
+
+    @Override
+    public int getChunkVersion(int chunkX, int chunkY) {
+        return chunkVersions[chunkY * getChunksX() + chunkX];
+    }
+
+    // Call after changing any layer's cell at (x, y)
+    public void markTilesChanged(int x, int y) {
+        if (x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) return;
+        tileVersions[(y / CHUNK_SIZE) * getChunksX() + x / CHUNK_SIZE]++;
+    }
+
+    public int getTileVersion(int chunkX, int chunkY) {
+        return tileVersions[chunkY * getChunksX() + chunkX];
+    }
+
+    public int getChunksX() {
+        return (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    public int getChunksY() {
+        return (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    public boolean isChunkingEnabled() {
+        return chunkingEnabled;
+    }
+
+    // Like findClosestWalkable, but only accepts tiles in the given region
+    public int findClosestWalkable(int x, int y, int maxSearchRadius, int component) {
+        for (int searchRadius = 1; searchRadius <= maxSearchRadius; searchRadius++) {
+            for (int offsetY = -searchRadius; offsetY <= searchRadius; offsetY++) {
+                for (int offsetX = -searchRadius; offsetX <= searchRadius; offsetX++) {
+                    if (Math.abs(offsetX) == searchRadius || Math.abs(offsetY) == searchRadius) {
+                        if (getComponent(x + offsetX, y + offsetY) == component) {
+                            return (y + offsetY) * mapWidth + x + offsetX;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Search expanding squares around (x, y); returns the packed index y * width + x, or -1 if none is in range
+    public int findClosestWalkable(int x, int y, int maxSearchRadius) {
+//        Bắt đầu tìm kiếm từ khoảng cách (bán kính) là 1.
+        for (int searchRadius = 1; searchRadius <= maxSearchRadius; searchRadius++) {
+            for (int offsetY = -searchRadius; offsetY <= searchRadius; offsetY++) {
+                for (int offsetX = -searchRadius; offsetX <= searchRadius; offsetX++) {
+                    // Only check tiles on the perimeter of the square
+                    if (Math.abs(offsetX) == searchRadius || Math.abs(offsetY) == searchRadius) {
+                        int checkX = x + offsetX;
+                        int checkY = y + offsetY;
+                        if (isWalkable(checkX, checkY)) {
+                            return checkY * mapWidth + checkX;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    public void initializeWalkableCache() {
+        walkableBits = new long[(mapWidth * mapHeight + 63) >>> 6];
+        for (int y = 0; y < mapHeight; y++) {
+            for (int x = 0; x < mapWidth; x++) {
+                if (calculateWalkable(x, y)) {
+                    int index = y * mapWidth + x;
+                    walkableBits[index >>> 6] |= 1L << index;
                 }
             }
         }
-    public int[][] getMapData() {
-        return mapData;
+    }
+
+    // Ground tile IDs, indexed by y * getMapWidth() + x
+    public int[] getTileIds() {
+        return tileIds;
+    }
+
+    // Bytes held by the flat tile and walkability arrays (array headers included)
+    public long getStorageBytes() {
+        return 16L + 4L * tileIds.length + 16L + 8L * walkableBits.length;
     }
 
     // Standard getters and setters
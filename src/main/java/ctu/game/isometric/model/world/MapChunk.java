@@ -1,42 +1,45 @@
 package ctu.game.isometric.model.world;
 
+// A 16x16 window onto the map's flat storage. While loaded, its TiledMap cells exist for rendering.
 public class MapChunk {
+    private final IsometricMap map;
     private int chunkX, chunkY;
-    private int[][] tileData;
-    private boolean[][] walkableData;
-    private static final int CHUNK_SIZE = 16;
+    private static final int CHUNK_SIZE = IsometricMap.CHUNK_SIZE;
     private long lastAccessTime;
+    private boolean loaded = false;
+
+    // Links in the map's LRU list of resident chunks
+    MapChunk lruPrev, lruNext;
 
     public MapChunk(IsometricMap map, int chunkX, int chunkY) {
+        this.map = map;
         this.chunkX = chunkX;
         this.chunkY = chunkY;
         this.lastAccessTime = System.currentTimeMillis();
+    }
 
-        int startX = chunkX * CHUNK_SIZE;
-        int startY = chunkY * CHUNK_SIZE;
-        int endX = Math.min(startX + CHUNK_SIZE, map.getMapWidth());
-        int endY = Math.min(startY + CHUNK_SIZE, map.getMapHeight());
-
-        tileData = new int[CHUNK_SIZE][CHUNK_SIZE];
-        walkableData = new boolean[CHUNK_SIZE][CHUNK_SIZE];
-
-        for (int y = 0; y < CHUNK_SIZE; y++) {
-            for (int x = 0; x < CHUNK_SIZE; x++) {
-                int mapX = startX + x;
-                int mapY = startY + y;
-                if (mapX < endX && mapY < endY) {
-                    // Use direct methods to avoid recursion
-                    tileData[y][x] = map.getTileIdDirect(mapX, mapY);
-                    walkableData[y][x] = map.calculateWalkable(mapX, mapY);
-                }
-            }
-        }
+    void load() {
+        map.materializeChunk(chunkX, chunkY);
+        loaded = true;
+    }
+
+    void unload() {
+        map.releaseChunk(chunkX, chunkY);
+        loaded = false;
+    }
+
+    void touch() {
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
     }
 
     public int getTileId(int localX, int localY) {
         this.lastAccessTime = System.currentTimeMillis();
         if (localX >= 0 && localX < CHUNK_SIZE && localY >= 0 && localY < CHUNK_SIZE) {
-            return tileData[localY][localX];
+            return map.getTileId(chunkX * CHUNK_SIZE + localX, chunkY * CHUNK_SIZE + localY);
         }
         return 0;
     }
@@ -44,12 +47,26 @@ public class MapChunk {
     public boolean isWalkable(int localX, int localY) {
         this.lastAccessTime = System.currentTimeMillis();
         if (localX >= 0 && localX < CHUNK_SIZE && localY >= 0 && localY < CHUNK_SIZE) {
-            return walkableData[localY][localX];
+            return map.isWalkable(chunkX * CHUNK_SIZE + localX, chunkY * CHUNK_SIZE + localY);
         }
         return false;
     }
 
+    public void setWalkable(int localX, int localY, boolean walkable) {
+        if (localX >= 0 && localX < CHUNK_SIZE && localY >= 0 && localY < CHUNK_SIZE) {
+            map.setWalkable(chunkX * CHUNK_SIZE + localX, chunkY * CHUNK_SIZE + localY, walkable);
+        }
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkY() {
+        return chunkY;
+    }
+
     public long getLastAccessTime() {
         return lastAccessTime;
     }
-}
\ No newline at end of file
+}
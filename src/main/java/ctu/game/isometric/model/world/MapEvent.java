@@ -7,6 +7,8 @@ public class MapEvent {
     private String eventType;   // Type of event (battle, dialog, etc.)
     private int gridX;
     private int gridY;
+    private int width = 1;      // Tiles covered along x, starting at gridX
+    private int height = 1;     // Tiles covered along y, starting at gridY
     private MapProperties properties;
     private boolean completed;  // Whether this event has been completed
     private boolean isOneTime; // Whether this event is a one-time event
@@ -21,11 +23,21 @@ public class MapEvent {
 
     }
 
+    // Event that triggers anywhere inside a width x height block of tiles
+    public MapEvent(String id, String eventType, int gridX, int gridY, int width, int height, MapProperties properties, boolean isOneTime) {
+        this(id, eventType, gridX, gridY, properties, isOneTime);
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+    }
+
     // Getters and setters
     public String getId() { return id; }
     public String getEventType() { return eventType; }
     public int getGridX() { return gridX; }
     public int getGridY() { return gridY; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public boolean covers(int x, int y) { return x >= gridX && x < gridX + width && y >= gridY && y < gridY + height; }
     public MapProperties getProperties() { return properties; }
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
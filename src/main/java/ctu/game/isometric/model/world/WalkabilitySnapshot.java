@@ -0,0 +1,71 @@
+package ctu.game.isometric.model.world;
+
+// Frozen copy of a map's walkability bitset. It never changes after construction, so planners on
+// other threads can read it while the game keeps editing the live map.
+public class WalkabilitySnapshot implements WalkableGrid {
+    private final int width;
+    private final int height;
+    private final long[] walkableBits;
+    private final int[] chunkVersions;
+    private final int chunksX;
+    private final Object origin;
+
+    public WalkabilitySnapshot(int width, int height, long[] walkableBits, int[] chunkVersions, Object origin) {
+        this.width = width;
+        this.height = height;
+        this.walkableBits = walkableBits.clone();
+        this.chunkVersions = chunkVersions.clone();
+        this.chunksX = (width + IsometricMap.CHUNK_SIZE - 1) / IsometricMap.CHUNK_SIZE;
+        this.origin = origin;
+    }
+
+    @Override
+    public int getMapWidth() {
+        return width;
+    }
+
+    @Override
+    public int getMapHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean isWalkable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int index = y * width + x;
+        return (walkableBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public int getChunkVersion(int chunkX, int chunkY) {
+        return chunkVersions[chunkY * chunksX + chunkX];
+    }
+
+    @Override
+    public Object getOrigin() {
+        return origin;
+    }
+
+    // Goals are already resolved against the live connectivity index before a request is queued,
+    // so here an unwalkable goal only falls back to the nearest walkable tile
+    @Override
+    public int resolveGoal(int startX, int startY, int goalX, int goalY, int maxSearchRadius) {
+        if (isWalkable(goalX, goalY)) {
+            return goalY * width + goalX;
+        }
+        for (int searchRadius = 1; searchRadius <= maxSearchRadius; searchRadius++) {
+            for (int offsetY = -searchRadius; offsetY <= searchRadius; offsetY++) {
+                for (int offsetX = -searchRadius; offsetX <= searchRadius; offsetX++) {
+                    if (Math.abs(offsetX) == searchRadius || Math.abs(offsetY) == searchRadius) {
+                        if (isWalkable(goalX + offsetX, goalY + offsetY)) {
+                            return (goalY + offsetY) * width + goalX + offsetX;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+}
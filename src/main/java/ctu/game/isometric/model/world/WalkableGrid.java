@@ -0,0 +1,21 @@
+package ctu.game.isometric.model.world;
+
+// The part of a map a grid path planner needs. Implemented by the live IsometricMap and by
+// immutable WalkabilitySnapshots that worker threads can search safely.
+public interface WalkableGrid {
+    int getMapWidth();
+
+    int getMapHeight();
+
+    boolean isWalkable(int x, int y);
+
+    // Packed index y * width + x of the tile a path should aim for, or -1 to reject the click
+    int resolveGoal(int startX, int startY, int goalX, int goalY, int maxSearchRadius);
+
+    // Bumped whenever walkability inside the chunk (IsometricMap.CHUNK_SIZE tiles square) changes
+    int getChunkVersion(int chunkX, int chunkY);
+
+    // The map this grid shows. Planners that cache per-map data (HPA*'s entrance graph) compare it
+    // to tell a new map from a new snapshot of the same one.
+    Object getOrigin();
+}
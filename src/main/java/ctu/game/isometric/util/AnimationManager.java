@@ -1,7 +1,5 @@
 package ctu.game.isometric.util;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import java.util.HashMap;
@@ -9,19 +7,20 @@ import java.util.Map;
 
 public class AnimationManager {
     private Map<String, Animation<TextureRegion>> characterAnimations = new HashMap<>();
+    private final AssetManager assetManager;
 
-    public void loadCharacterAnimations(String idleSpritePath, String walkSpritePath) {
-        // Load texture sheets
-        Texture idleSpriteSheet = new Texture(Gdx.files.internal(idleSpritePath));
-        Texture walkSpriteSheet = new Texture(Gdx.files.internal(walkSpritePath));
+    public AnimationManager(AssetManager assetManager) {
+        this.assetManager = assetManager;
+    }
 
-        // Apply texture filtering for smoother rendering
-        idleSpriteSheet.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        walkSpriteSheet.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+    public void loadCharacterAnimations(String idleSpritePath, String walkSpritePath) {
+        // Sprite sheets come from the shared atlas (already linear-filtered)
+        TextureRegion idleSpriteSheet = assetManager.getRegion(idleSpritePath);
+        TextureRegion walkSpriteSheet = assetManager.getRegion(walkSpritePath);
 
         // Split sprites
-        TextureRegion[][] idleTmp = TextureRegion.split(idleSpriteSheet, 48, 64);
-        TextureRegion[][] walkTmp = TextureRegion.split(walkSpriteSheet, 48, 64);
+        TextureRegion[][] idleTmp = idleSpriteSheet.split(48, 64);
+        TextureRegion[][] walkTmp = walkSpriteSheet.split(48, 64);
 
         // Main directions (reduced set that matches your sprite sheet)
         String[] directions = {"down", "left_down", "left_up", "right_down", "right_up", "up"};
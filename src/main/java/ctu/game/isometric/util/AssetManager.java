@@ -1,38 +1,345 @@
 package ctu.game.isometric.util;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class AssetManager implements Disposable {
-    private Map<String, Texture> textures;
+    // Small UI, item, enemy and character images, packed into shared atlas pages at startup so the
+    // SpriteBatch does not have to flush on every texture switch
+    private static final String[] ATLAS_SOURCES = {
+            "ui/action_icon.png", "ui/button.png", "ui/button_selected.png", "ui/button_delete.png",
+            "ui/cell.png", "ui/item_cell.png", "ui/selected_cell.png", "ui/grid_bg.png", "ui/message_box.png",
+            "ui/close_button.png", "ui/inventory_bg.png", "ui/item_slot.png", "ui/item_slot_select.png",
+            "ui/time_frame.png", "ui/health_bar.png", "ui/quest_box.png", "ui/slider_bar.png", "ui/slider_knob.png",
+            "game/items/magic_book.png", "game/items/mana_crystal.png", "game/items/potion_healing.png",
+            "game/items/slow_potion.png",
+            "enemy/default.png", "enemy/goblin_warrior.png", "enemy/skeleton_archer.png",
+            "characters/idle.png", "characters/walk.png", "characters/female_idle.png", "characters/female_walk.png",
+            "characters/male_avatar.png", "characters/female_avatar.png", "characters/player.png"
+    };
+    private static final int ATLAS_PAGE_SIZE = 2048;
+    public static final String WHITE_PIXEL = "white";
+
+    // libGDX loader: owns every texture and font handed out by acquire*. It is asked to load each
+    // file name once, so it always holds a single reference; the holders are counted in holders.
+    // (A repeated load only adds to the loader's count once its queue is drained, and once the asset
+    // is loaded finishLoadingAsset returns without draining it.)
+    private final com.badlogic.gdx.assets.AssetManager loader;
+    private final ObjectIntMap<String> holders = new ObjectIntMap<>(); // file name -> acquires not yet released
+    private final Set<String> residentAssets = new HashSet<>(); // held by this manager until dispose
+    private Map<String, TextureRegion> regions;
+    private TextureAtlas atlas;
     private AnimationManager animationManager;
 
     public AssetManager() {
-        textures = new HashMap<>();
-        animationManager = new AnimationManager();
+        InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+        loader = new com.badlogic.gdx.assets.AssetManager(resolver);
+        loader.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
+        loader.setLoader(BitmapFont.class, ".ttf", new FreetypeFontLoader(resolver));
+        // Page size for glyphs generated on demand (see FontGenerator)
+        FreeTypeFontGenerator.setMaxTextureSize(FontGenerator.GLYPH_PAGE_SIZE);
+        regions = new HashMap<>();
+        animationManager = new AnimationManager(this);
     }
 
     public void loadAssets() {
         // Load all necessary textures
-
-        loadTexture("characters/idle.png");
-        loadTexture("characters/walk.png");
+        packAtlas();
 
         loadTexture("ui/dialog_box.png");
 
     }
 
     private void loadTexture(String path) {
-        Texture texture = new Texture(Gdx.files.internal(path));
-        textures.put(path,texture);
+        acquireTexture(path);
+        residentAssets.add(path);
+    }
+
+    // Shared texture handle; every acquire must be paired with a release(texture)
+    public Texture acquireTexture(String path) {
+        return acquire(path, Texture.class, linearTextureParameter());
+    }
+
+    // Shared Vietnamese font (white, glyphs generated as they are drawn); release it with release(font)
+    public BitmapFont acquireFont(String fontName, int size) {
+        return acquireFont(fontName, "vi", FontGenerator.createParameter(size));
+    }
+
+    // Shared font generated with custom parameters. The style name tells apart variants of the same
+    // file and size (outlines, shadows), callers passing the same style get the same BitmapFont.
+    // Each (face, size, style) is generated once: the manager keeps its own reference, so a screen
+    // that is rebuilt gets the cached font back instead of running FreeType again.
+    public BitmapFont acquireFont(String fontName, String style, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        String name = fontAssetName(fontName, style, parameter.size);
+        FreetypeFontLoader.FreeTypeFontLoaderParameter loaderParameter = fontLoaderParameter(fontName, parameter);
+        boolean firstUse = residentAssets.add(name);
+        if (firstUse) {
+            hold(name, BitmapFont.class, loaderParameter); // the manager's own reference
+        }
+        try {
+            return acquire(name, BitmapFont.class, loaderParameter);
+        } catch (RuntimeException e) {
+            if (firstUse) {
+                residentAssets.remove(name);
+                unhold(name);
+            }
+            throw e;
+        }
+    }
+
+    // One more holder for name; the loader is only asked to load the first time
+    private <T> void hold(String name, Class<T> type, AssetLoaderParameters<T> parameter) {
+        if (!holders.containsKey(name)) {
+            loader.load(name, type, parameter);
+        }
+        holders.getAndIncrement(name, 0, 1);
+    }
+
+    private <T> T acquire(String name, Class<T> type, AssetLoaderParameters<T> parameter) {
+        hold(name, type, parameter);
+        try {
+            if (!loader.isLoaded(name)) {
+                loader.finishLoadingAsset(name);
+            }
+            return loader.get(name, type);
+        } catch (RuntimeException e) {
+            // Missing or broken file: without this the name stays held but no longer queued, and the
+            // next acquire would wait forever in finishLoadingAsset
+            unhold(name);
+            throw e;
+        }
+    }
+
+    // Undo a hold whose load failed; once nobody holds the name the next acquire loads it again
+    private void unhold(String name) {
+        if (holders.getAndIncrement(name, 0, -1) > 1) return;
+        holders.remove(name, 0);
+        if (loader.contains(name)) {
+            loader.unload(name);
+        }
+    }
+
+    // Queue a texture for background loading; it stays resident once loaded
+    public void queueTexture(String path) {
+        if (residentAssets.add(path)) {
+            hold(path, Texture.class, linearTextureParameter());
+        }
+    }
+
+    // Queue a Vietnamese font for background loading; it stays resident once loaded
+    public void queueFont(String fontName, int size) {
+        String name = fontAssetName(fontName, "vi", size);
+        if (residentAssets.add(name)) {
+            hold(name, BitmapFont.class, fontLoaderParameter(fontName, FontGenerator.createParameter(size)));
+        }
+    }
+
+    // Advance queued loads by one slice; true once the queue is empty. Call from render().
+    public boolean update() {
+        return loader.update(16);
+    }
+
+    public float getProgress() {
+        return loader.getProgress();
+    }
+
+    // Drop one reference to a texture or font from acquire*; disposed when nobody holds it any more
+    public void release(Object asset) {
+        if (asset == null) return;
+        String name = loader.getAssetFileName(asset);
+        if (name == null || holders.get(name, 0) <= 0) return;
+
+        if (holders.getAndIncrement(name, 0, -1) > 1) return; // still held elsewhere
+        holders.remove(name, 0);
+        // Incremental fonts keep their glyph packer in the font data, which BitmapFont does not dispose
+        Disposable glyphData = asset instanceof BitmapFont ? glyphData((BitmapFont) asset) : null;
+        loader.unload(name);
+        if (glyphData != null && !loader.isLoaded(name)) {
+            glyphData.dispose();
+        }
+    }
+
+    // Holders of an asset: acquire* calls not yet released, plus one while the manager keeps it resident
+    public int getReferenceCount(String name) {
+        return holders.get(name, 0);
+    }
+
+    public int getLoadedAssetCount() {
+        return loader.getLoadedAssets();
+    }
 
+    public int getTotalReferenceCount() {
+        int total = 0;
+        for (ObjectIntMap.Entry<String> entry : holders) total += entry.value;
+        return total;
     }
 
+    // Estimated GPU memory of the loaded textures and atlas pages, in bytes
+    public long getTextureMemoryBytes() {
+        long bytes = 0;
+        Array<Texture> loaded = new Array<>();
+        loader.getAll(Texture.class, loaded);
+        for (Texture texture : loaded) {
+            bytes += textureBytes(texture);
+        }
+        if (atlas != null) {
+            for (Texture page : atlas.getTextures()) {
+                bytes += textureBytes(page);
+            }
+        }
+        return bytes;
+    }
+
+    // Estimated GPU memory of the glyph pages of the loaded fonts, in bytes
+    public long getFontMemoryBytes() {
+        long bytes = 0;
+        Array<BitmapFont> fonts = new Array<>();
+        loader.getAll(BitmapFont.class, fonts);
+        ObjectSet<Texture> pages = new ObjectSet<>();
+        for (BitmapFont font : fonts) {
+            for (TextureRegion region : font.getRegions()) {
+                if (pages.add(region.getTexture())) {
+                    bytes += textureBytes(region.getTexture());
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public String getMemoryReport() {
+        return String.format("%d assets (%d refs), textures %.1f MB, fonts %.1f MB", getLoadedAssetCount(), getTotalReferenceCount(),
+                getTextureMemoryBytes() / (1024f * 1024f), getFontMemoryBytes() / (1024f * 1024f));
+    }
+
+    private static long textureBytes(Texture texture) {
+        int bytesPerPixel;
+        switch (texture.getTextureData().getFormat()) {
+            case Alpha:
+            case Intensity:
+                bytesPerPixel = 1;
+                break;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                bytesPerPixel = 2;
+                break;
+            case RGB888:
+                bytesPerPixel = 3;
+                break;
+            default:
+                bytesPerPixel = 4;
+                break;
+        }
+        return (long) texture.getWidth() * texture.getHeight() * bytesPerPixel;
+    }
+
+    private static Disposable glyphData(BitmapFont font) {
+        return font.getData() instanceof Disposable ? (Disposable) font.getData() : null;
+    }
+
+    private static TextureLoader.TextureParameter linearTextureParameter() {
+        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+        parameter.minFilter = Texture.TextureFilter.Linear;
+        parameter.magFilter = Texture.TextureFilter.Linear;
+        return parameter;
+    }
+
+    // FreetypeFontLoader wants a .ttf asset name; the real file goes in the parameter
+    private static String fontAssetName(String fontName, String style, int size) {
+        String base = fontName.endsWith(".ttf") ? fontName.substring(0, fontName.length() - 4) : fontName;
+        return "fonts/" + base + "-" + style + "-" + size + ".ttf";
+    }
+
+    private static FreetypeFontLoader.FreeTypeFontLoaderParameter fontLoaderParameter(String fontName, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        FreetypeFontLoader.FreeTypeFontLoaderParameter loaderParameter = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
+        loaderParameter.fontFileName = "fonts/" + fontName;
+        loaderParameter.fontParameters = parameter;
+        return loaderParameter;
+    }
+
+    // Pack ATLAS_SOURCES (plus a white pixel for solid fills) into as few pages as they need
+    private void packAtlas() {
+        PixmapPacker packer = new PixmapPacker(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+
+        Pixmap white = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        packer.pack(WHITE_PIXEL, white);
+        white.dispose();
+
+        for (String path : ATLAS_SOURCES) {
+            try {
+                Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+                packer.pack(path, pixmap);
+                pixmap.dispose();
+            } catch (GdxRuntimeException e) {
+                // Left out of the atlas; getRegion falls back to a standalone texture
+                Gdx.app.error("AssetManager", "Could not pack " + path, e);
+            }
+        }
+
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+        packer.dispose();
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()) {
+            regions.put(region.name, region);
+        }
+        Gdx.app.log("AssetManager", "Packed " + atlas.getRegions().size + " images into "
+                + atlas.getTextures().size + " atlas page(s)");
+    }
+
+    // Texture kept resident by the manager (see loadAssets), or null
     public Texture getTexture(String path) {
-        return textures.get(path);
+        return loader.isLoaded(path, Texture.class) ? loader.get(path, Texture.class) : null;
+    }
+
+    // Region for an image path: from the atlas when it was packed, else from its own texture
+    public TextureRegion getRegion(String path) {
+        TextureRegion region = regions.get(path);
+        if (region == null) {
+            if (!residentAssets.contains(path)) {
+                loadTexture(path);
+            }
+            region = new TextureRegion(residentTexture(path));
+            regions.put(path, region);
+        }
+        return region;
+    }
+
+    // 1x1 white region on the atlas page, for tinted rectangles and overlays
+    public TextureRegion getWhiteRegion() {
+        return getRegion(WHITE_PIXEL);
+    }
+
+    private Texture residentTexture(String path) {
+        if (!loader.isLoaded(path)) {
+            loader.finishLoadingAsset(path);
+        }
+        return loader.get(path, Texture.class);
+    }
+
+    public int getAtlasPageCount() {
+        return atlas != null ? atlas.getTextures().size : 0;
     }
 
     public AnimationManager getAnimationManager() {
@@ -41,9 +348,22 @@ public class AssetManager implements Disposable {
 
     @Override
     public void dispose() {
-        for (Texture texture : textures.values()) {
-            texture.dispose();
+        // Disposes everything the loader still holds, whatever the reference counts
+        Array<BitmapFont> fonts = new Array<>();
+        loader.getAll(BitmapFont.class, fonts);
+        loader.dispose();
+        for (BitmapFont font : fonts) {
+            Disposable data = glyphData(font);
+            if (data != null) {
+                data.dispose();
+            }
+        }
+        residentAssets.clear();
+        holders.clear();
+        regions.clear();
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
         }
-        textures.clear();
     }
-}
\ No newline at end of file
+}
@@ -1,36 +1,32 @@
 package ctu.game.isometric.util;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 
+// Parameters for the game's FreeType fonts. Fonts are generated in incremental mode: only the basic
+// Latin set is rasterised when the font is created, Vietnamese letters and anything else are added
+// to the glyph pages the first time they are drawn. The fonts themselves are created and cached once
+// per (face, size, style) by AssetManager.acquireFont.
 public class FontGenerator {
+    // Glyph pages of incremental fonts; a new page is added when one fills up
+    public static final int GLYPH_PAGE_SIZE = 512;
 
-    private static final String VIETNAMESE_CHARS = generateVietnameseCharacters();
+    // Rasterised up front, the rest comes on demand
+    private static final String BASE_CHARS = FreeTypeFontGenerator.DEFAULT_CHARS;
 
-    private static String generateVietnameseCharacters() {
-        StringBuilder builder = new StringBuilder();
-        for (char c = '\u0041'; c <= '\u1EF9'; c++) {
-            if (Character.isLetter(c)) {
-                builder.append(c);
-            }
-        }
-        for (char c = '0'; c <= '9'; c++) {
-            builder.append(c);
-        }
-        builder.append(".-[]:,_*/"); // Add dot and minus for float numbers
-        return builder.toString();
-    }
-
-    public static BitmapFont generateVietNameseFont(String fontName, int size) {
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/" + fontName));
+    // Plain white font with the Vietnamese letters available
+    public static FreeTypeFontGenerator.FreeTypeFontParameter createParameter(int size) {
         FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
         parameter.size = size;
-        parameter.characters = VIETNAMESE_CHARS;
         parameter.color = Color.WHITE;
-        BitmapFont font = generator.generateFont(parameter);
-        generator.dispose();
-        return font;
+        return incremental(parameter);
+    }
+
+    // Switch any parameter to on-demand glyphs. The generator has to outlive the font, which the
+    // asset loader guarantees by keeping it as a dependency of the font.
+    public static FreeTypeFontGenerator.FreeTypeFontParameter incremental(FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        parameter.incremental = true;
+        parameter.characters = BASE_CHARS;
+        return parameter;
     }
-}
\ No newline at end of file
+}
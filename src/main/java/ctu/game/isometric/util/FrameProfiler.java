@@ -0,0 +1,171 @@
+package ctu.game.isometric.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+// Per-frame timings of the update/render phases, kept in ring buffers of the last HISTORY frames.
+// Phases are timed with begin/end pairs around the code they cover; a phase entered several times in
+// one frame adds up. Nothing is recorded while disabled, so the calls can stay in release builds.
+public class FrameProfiler {
+    public enum Phase {
+        UPDATE("update"),
+        CHARACTER("character"),
+        PATHING("pathing"),
+        TRANSITION("transition"),
+        MAP("map"),
+        OBJECTS("objects"),
+        EFFECTS("effects"),
+        EXPLORING_UI("exploring ui"),
+        DIALOG_UI("dialog ui"),
+        SCREEN("render total"),
+        FRAME("frame");
+
+        public final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    public static final int HISTORY = 300; // ~5s at 60 FPS
+    private static final String EXPORT_DIRECTORY = "profiles/";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] started = new long[PHASES.length];
+    private final long[] accumulated = new long[PHASES.length];
+    private final float[][] phaseMillis = new float[PHASES.length][HISTORY];
+    private final int[] drawCalls = new int[HISTORY];
+    private final int[] textureBindings = new int[HISTORY];
+    private final long[] heapChurn = new long[HISTORY];
+    private final float[] sorted = new float[HISTORY];
+
+    private int head = 0;   // next slot to write
+    private int count = 0;  // filled slots
+    private long lastHeap = -1;
+    private boolean enabled = false;
+    private boolean inFrame = false;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) inFrame = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void beginFrame() {
+        if (!enabled) return;
+        Arrays.fill(accumulated, 0);
+        inFrame = true;
+        started[Phase.FRAME.ordinal()] = System.nanoTime();
+    }
+
+    public void begin(Phase phase) {
+        if (!inFrame) return;
+        started[phase.ordinal()] = System.nanoTime();
+    }
+
+    public void end(Phase phase) {
+        if (!inFrame) return;
+        int i = phase.ordinal();
+        accumulated[i] += System.nanoTime() - started[i];
+    }
+
+    // Close the frame and store its samples. GL counters come from the caller's GLProfiler.
+    public void endFrame(int frameDrawCalls, int frameTextureBindings) {
+        if (!inFrame) return;
+        end(Phase.FRAME);
+        inFrame = false;
+
+        for (int p = 0; p < PHASES.length; p++) {
+            phaseMillis[p][head] = accumulated[p] / 1_000_000f;
+        }
+        drawCalls[head] = frameDrawCalls;
+        textureBindings[head] = frameTextureBindings;
+
+        // Growth of the used heap since last frame; a drop means the GC ran, which is not churn
+        long heap = Gdx.app.getJavaHeap();
+        heapChurn[head] = lastHeap < 0 ? 0 : Math.max(0, heap - lastHeap);
+        lastHeap = heap;
+
+        head = (head + 1) % HISTORY;
+        if (count < HISTORY) count++;
+    }
+
+    public int getSampleCount() {
+        return count;
+    }
+
+    // percentile in [0, 1], over the buffered frames
+    public float getPercentile(Phase phase, float percentile) {
+        if (count == 0) return 0;
+        System.arraycopy(phaseMillis[phase.ordinal()], 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+        return sorted[Math.max(0, index)];
+    }
+
+    public float getAverageDrawCalls() {
+        return average(drawCalls);
+    }
+
+    public float getAverageTextureBindings() {
+        return average(textureBindings);
+    }
+
+    // Average bytes allocated per frame
+    public float getAverageHeapChurn() {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += heapChurn[i];
+        return total / (float) count;
+    }
+
+    private float average(int[] values) {
+        if (count == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) total += values[i];
+        return total / (float) count;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        lastHeap = -1;
+    }
+
+    // Write the buffered frames, oldest first, as CSV for offline analysis
+    public FileHandle exportCsv() {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        FileHandle file = Gdx.files.local(EXPORT_DIRECTORY + "frames-" + stamp + ".csv");
+
+        StringBuilder csv = new StringBuilder(count * 96);
+        csv.append("frame");
+        for (Phase phase : PHASES) {
+            csv.append(',').append(phase.name().toLowerCase()).append("_ms");
+        }
+        csv.append(",draw_calls,texture_binds,heap_churn_bytes\n");
+
+        int first = (head - count + HISTORY) % HISTORY;
+        for (int n = 0; n < count; n++) {
+            int i = (first + n) % HISTORY;
+            csv.append(n);
+            for (int p = 0; p < PHASES.length; p++) {
+                csv.append(',').append(phaseMillis[p][i]);
+            }
+            csv.append(',').append(drawCalls[i])
+                    .append(',').append(textureBindings[i])
+                    .append(',').append(heapChurn[i])
+                    .append('\n');
+        }
+
+        file.writeString(csv.toString(), false, "UTF-8");
+        Gdx.app.log("FrameProfiler", "Exported " + count + " frames to " + file.path());
+        return file;
+    }
+}
@@ -0,0 +1,72 @@
+package ctu.game.isometric.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Binary cache of a map's ground tile IDs and walkability bitset, written on the first load of a .tmx
+// and memory-mapped on later loads so the per-tile layer/property evaluation can be skipped.
+public class MapSidecar {
+    private static final String CACHE_DIRECTORY = "cache/";
+    private static final int MAGIC = 0x49574C4B; // "IWLK"
+    private static final int VERSION = 1;
+    // magic, version, hash, width, height
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    // Content hash of the .tmx; any edit in Tiled invalidates the sidecar
+    public static long hash(String tmxPath) {
+        CRC32 crc = new CRC32();
+        byte[] bytes = Gdx.files.internal(tmxPath).readBytes();
+        crc.update(bytes, 0, bytes.length);
+        return ((long) bytes.length << 32) | crc.getValue();
+    }
+
+    // Fills tileIds and walkableBits from the sidecar. Returns false when it is missing, stale or malformed.
+    public static boolean read(String tmxPath, long hash, int width, int height, int[] tileIds, long[] walkableBits) {
+        FileHandle file = sidecarFor(tmxPath);
+        if (!file.exists()) return false;
+
+        long expectedSize = HEADER_BYTES + 4L * tileIds.length + 8L * walkableBits.length;
+        try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+            if (channel.size() != expectedSize) return false;
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != hash
+                    || buffer.getInt() != width || buffer.getInt() != height) {
+                return false;
+            }
+            buffer.asIntBuffer().get(tileIds);
+            buffer.position(HEADER_BYTES + 4 * tileIds.length);
+            buffer.asLongBuffer().get(walkableBits);
+            return true;
+        } catch (IOException e) {
+            Gdx.app.error("MapSidecar", "Could not read " + file.path(), e);
+            return false;
+        }
+    }
+
+    public static void write(String tmxPath, long hash, int width, int height, int[] tileIds, long[] walkableBits) {
+        FileHandle file = sidecarFor(tmxPath);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * tileIds.length + 8 * walkableBits.length);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(hash).putInt(width).putInt(height);
+            buffer.asIntBuffer().put(tileIds);
+            buffer.position(HEADER_BYTES + 4 * tileIds.length);
+            buffer.asLongBuffer().put(walkableBits);
+            file.writeBytes(buffer.array(), false);
+        } catch (Exception e) {
+            // The sidecar is only a cache; the next load simply evaluates the map again
+            Gdx.app.error("MapSidecar", "Could not write " + file.path(), e);
+        }
+    }
+
+    private static FileHandle sidecarFor(String tmxPath) {
+        return Gdx.files.local(CACHE_DIRECTORY + tmxPath + ".bin");
+    }
+}
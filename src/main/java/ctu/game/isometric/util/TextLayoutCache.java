@@ -0,0 +1,162 @@
+package ctu.game.isometric.util;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Finished GlyphLayouts keyed by (font, text, color, wrap width), so screens that draw the same
+// strings every frame stop re-measuring and re-splitting them. A layout is only rebuilt when its text
+// changes; looking one up does not allocate. Colors are baked into the layout, hence part of the key.
+public class TextLayoutCache {
+    private static final int DEFAULT_CAPACITY = 128;
+
+    // Word-wrapped text, one layout per line
+    public static class TextBlock {
+        private final Array<GlyphLayout> lines = new Array<>();
+        private float width;
+
+        // Draw the lines top-down from y, lineHeight apart; returns the y below the last line
+        public float draw(Batch batch, BitmapFont font, float x, float y, float lineHeight) {
+            for (int i = 0; i < lines.size; i++) {
+                font.draw(batch, lines.get(i), x, y);
+                y -= lineHeight;
+            }
+            return y;
+        }
+
+        public int getLineCount() {
+            return lines.size;
+        }
+
+        public float getWidth() {
+            return width;
+        }
+    }
+
+    private static final class Key {
+        BitmapFont font;
+        String text;
+        float color;
+        float wrapWidth;
+
+        Key set(BitmapFont font, String text, float color, float wrapWidth) {
+            this.font = font;
+            this.text = text;
+            this.color = color;
+            this.wrapWidth = wrapWidth;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return font == other.font && color == other.color && wrapWidth == other.wrapWidth && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(font);
+            hash = 31 * hash + text.hashCode();
+            hash = 31 * hash + Float.floatToIntBits(color);
+            return 31 * hash + Float.floatToIntBits(wrapWidth);
+        }
+    }
+
+    private final Map<Key, GlyphLayout> layouts;
+    private final Map<Key, TextBlock> blocks;
+    private final Key probe = new Key();
+    private final GlyphLayout measure = new GlyphLayout();
+    private final StringBuilder line = new StringBuilder();
+    private int hits, misses;
+
+    public TextLayoutCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TextLayoutCache(final int capacity) {
+        // Access-ordered, so the least recently drawn strings are dropped first
+        this.layouts = new LinkedHashMap<Key, GlyphLayout>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, GlyphLayout> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.blocks = new LinkedHashMap<Key, TextBlock>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, TextBlock> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Single-line layout, e.g. to center a label
+    public GlyphLayout layout(BitmapFont font, String text, Color color) {
+        GlyphLayout layout = layouts.get(probe.set(font, text, color.toFloatBits(), 0));
+        if (layout != null) {
+            hits++;
+            return layout;
+        }
+        misses++;
+        layout = new GlyphLayout(font, text, color, 0, Align.left, false);
+        layouts.put(new Key().set(font, text, probe.color, 0), layout);
+        return layout;
+    }
+
+    // Greedy word wrap at maxWidth; explicit \n always starts a new line
+    public TextBlock wrap(BitmapFont font, String text, Color color, float maxWidth) {
+        TextBlock block = blocks.get(probe.set(font, text, color.toFloatBits(), maxWidth));
+        if (block != null) {
+            hits++;
+            return block;
+        }
+        misses++;
+        block = new TextBlock();
+        for (String paragraph : text.split("\n")) {
+            line.setLength(0);
+            for (String word : paragraph.split(" ")) {
+                int mark = line.length();
+                if (mark > 0) line.append(' ');
+                line.append(word);
+                measure.setText(font, line);
+                if (measure.width > maxWidth && mark > 0) {
+                    // Word does not fit: close the line before it
+                    line.setLength(mark);
+                    addLine(block, font, color);
+                    line.setLength(0);
+                    line.append(word);
+                }
+            }
+            if (line.length() > 0) {
+                addLine(block, font, color);
+            }
+        }
+        blocks.put(new Key().set(font, text, probe.color, maxWidth), block);
+        return block;
+    }
+
+    private void addLine(TextBlock block, BitmapFont font, Color color) {
+        GlyphLayout layout = new GlyphLayout(font, line.toString(), color, 0, Align.left, false);
+        block.lines.add(layout);
+        block.width = Math.max(block.width, layout.width);
+    }
+
+    public void clear() {
+        layouts.clear();
+        blocks.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,255 @@
+package ctu.game.isometric.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import ctu.game.isometric.model.dictionary.Word;
+import ctu.game.isometric.model.dictionary.WordDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Finished Word details by upper-case term, so WordNet glosses are parsed once per word instead of
+// on every lookup. Bounded by an estimate of the bytes held rather than an entry count: a word with
+// thirty senses costs far more than one with a single gloss. Least recently used words go first.
+// Thread-safe; the cache is warmed and filled from worker threads.
+// Persisted to saves/ in a compact binary form so a restart starts warm. The file carries the
+// dictionary stamp WordLexicon uses, so details parsed from an older dictionary are not served.
+public class WordDetailCache {
+    private static final String CACHE_FILE = "saves/word-details.bin";
+    private static final int MAGIC = 0x57444331; // "WDC1"
+    private static final int VERSION = 2;
+    public static final long DEFAULT_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    private static final class Entry {
+        final Word word;
+        final int bytes;
+
+        Entry(Word word, int bytes) {
+            this.word = word;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long budgetBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes = 0;
+    private long hits, misses, evictions;
+
+    public WordDetailCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static String key(String term) {
+        return term.toUpperCase();
+    }
+
+    // Cached details, or null (counted as a miss)
+    public synchronized Word get(String term) {
+        Entry entry = entries.get(key(term));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.word;
+    }
+
+    public synchronized boolean contains(String term) {
+        return entries.containsKey(key(term));
+    }
+
+    public synchronized void put(String term, Word word) {
+        if (word == null) return;
+        int bytes = estimateBytes(word);
+        Entry previous = entries.put(key(term), new Entry(word, bytes));
+        if (previous != null) usedBytes -= previous.bytes;
+        usedBytes += bytes;
+
+        // Access order: the first entries are the least recently used
+        while (usedBytes > budgetBytes && entries.size() > 1) {
+            Map.Entry<String, Entry> eldest = entries.entrySet().iterator().next();
+            usedBytes -= eldest.getValue().bytes;
+            entries.remove(eldest.getKey());
+            evictions++;
+        }
+    }
+
+    // Rough heap footprint: object headers, list/array overhead and two bytes per char
+    static int estimateBytes(Word word) {
+        int bytes = 64 + stringBytes(word.getTerm()) + stringBytes(word.getPronunciation());
+        for (WordDefinition definition : word.getDefinitions()) {
+            bytes += 96 + stringBytes(definition.getPartOfSpeech()) + stringBytes(definition.getDefinition());
+            if (definition.getExamples() != null) {
+                for (String example : definition.getExamples()) bytes += 8 + stringBytes(example);
+            }
+            if (definition.getSynonyms() != null) {
+                for (String synonym : definition.getSynonyms()) bytes += 8 + stringBytes(synonym);
+            }
+        }
+        return bytes;
+    }
+
+    private static int stringBytes(String s) {
+        return s == null ? 0 : 40 + 2 * s.length();
+    }
+
+    // Load the words persisted by a previous run; returns how many were read.
+    // A file from another format or another dictionary is deleted.
+    public int load(long dictionaryStamp) {
+        FileHandle file = Gdx.files.local(CACHE_FILE);
+        if (!file.exists()) return 0;
+
+        int loaded = 0;
+        boolean stale = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != dictionaryStamp) {
+                stale = true;
+                return 0;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Word word = readWord(in);
+                synchronized (this) {
+                    // Words looked up while loading are newer than the file
+                    if (!entries.containsKey(key(word.getTerm()))) {
+                        put(word.getTerm(), word);
+                        loaded++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Only a cache; whatever was read is kept and the rest is parsed from WordNet again
+            Gdx.app.error("WordDetailCache", "Could not read " + file.path(), e);
+        } finally {
+            if (stale) file.delete();
+        }
+        return loaded;
+    }
+
+    public void save(long dictionaryStamp) {
+        List<Word> words;
+        synchronized (this) {
+            words = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) words.add(entry.word);
+        }
+
+        // Written next to the cache and renamed over it, so a failed save never leaves half a file
+        FileHandle file = Gdx.files.local(CACHE_FILE);
+        FileHandle temp = Gdx.files.local(CACHE_FILE + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temp.write(false)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(dictionaryStamp);
+                out.writeInt(words.size());
+                for (Word word : words) writeWord(out, word);
+            }
+            Files.move(temp.file().toPath(), file.file().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("WordDetailCache", "Could not write " + file.path(), e);
+            temp.delete();
+        }
+    }
+
+    private static void writeWord(DataOutputStream out, Word word) throws IOException {
+        writeString(out, word.getTerm());
+        writeNullable(out, word.getPronunciation());
+        out.writeShort(word.getDefinitions().size());
+        for (WordDefinition definition : word.getDefinitions()) {
+            writeNullable(out, definition.getPartOfSpeech());
+            writeNullable(out, definition.getDefinition());
+            writeList(out, definition.getExamples());
+            writeList(out, definition.getSynonyms());
+        }
+    }
+
+    private static Word readWord(DataInputStream in) throws IOException {
+        Word word = new Word(readString(in));
+        word.setPronunciation(readNullable(in));
+        int definitions = in.readUnsignedShort();
+        for (int i = 0; i < definitions; i++) {
+            WordDefinition definition = new WordDefinition();
+            definition.setPartOfSpeech(readNullable(in));
+            definition.setDefinition(readNullable(in));
+            definition.setExamples(readList(in));
+            definition.setSynonyms(readList(in));
+            word.addDefinition(definition);
+        }
+        return word;
+    }
+
+    // Length-prefixed UTF-8; writeUTF is limited to 64KB and some glosses with examples get close
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullable(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) writeString(out, s);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    private static void writeList(DataOutputStream out, List<String> list) throws IOException {
+        int size = list == null ? 0 : list.size();
+        out.writeShort(size);
+        for (int i = 0; i < size; i++) writeString(out, list.get(i));
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(readString(in));
+        return list;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + misses;
+        return "WordDetailCache{words=" + entries.size()
+                + ", " + (usedBytes / 1024) + "/" + (budgetBytes / 1024) + " KB"
+                + ", hits=" + hits + ", misses=" + misses
+                + ", hitRate=" + (lookups == 0 ? 0 : (100 * hits / lookups)) + "%"
+                + ", evictions=" + evictions + "}";
+    }
+}
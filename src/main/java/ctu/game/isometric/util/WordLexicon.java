@@ -0,0 +1,223 @@
+package ctu.game.isometric.util;
+
+import com.badlogic.gdx.Gdx;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.FSTCompiler;
+import org.apache.lucene.util.fst.NoOutputs;
+import org.apache.lucene.util.fst.Util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Every lemma of the WordNet index files compiled into a Lucene FST (a minimal automaton over the
+// lemma bytes). contains() walks one arc per letter: no file access, no locking, no allocation once
+// the calling thread has its cursor. The FST is written to cache/ and reused while the index files
+// are unchanged, so it is built once per dictionary rather than once per run.
+public class WordLexicon {
+    private static final String CACHE_DIRECTORY = "cache/dict/";
+    private static final String[] INDEX_FILES = {"index.noun", "index.verb", "index.adj", "index.adv"};
+
+    private final FST<Object> fst;
+    private final int lemmaCount;
+    private final ThreadLocal<Cursor> cursors;
+
+    // Receives the words found by collectWords; letters is only valid during the call
+    public interface WordVisitor {
+        void visit(char[] letters, int length);
+    }
+
+    // Per-thread traversal state; FST readers are cheap but not free, so each thread keeps its own
+    private static final class Cursor {
+        final FST.Arc<Object> arc = new FST.Arc<>();
+        final FST.BytesReader reader;
+
+        Cursor(FST<Object> fst) {
+            this.reader = fst.getBytesReader();
+        }
+    }
+
+    private WordLexicon(FST<Object> fst, int lemmaCount) {
+        this.fst = fst;
+        this.lemmaCount = lemmaCount;
+        this.cursors = ThreadLocal.withInitial(() -> new Cursor(fst));
+    }
+
+    // Load the cached FST for the dictionary in dictDirectory, compiling it from the index files when
+    // the cache is missing or older than them. Returns null if nothing could be read.
+    public static WordLexicon load(File dictDirectory) {
+        long stamp = stamp(dictDirectory);
+        File cache = Gdx.files.local(CACHE_DIRECTORY + "lexicon-" + Long.toHexString(stamp) + ".fst").file();
+        if (cache.exists()) {
+            try {
+                FST<Object> fst = FST.read(cache.toPath(), NoOutputs.getSingleton());
+                return new WordLexicon(fst, -1);
+            } catch (IOException e) {
+                Gdx.app.error("WordLexicon", "Could not read " + cache.getPath() + ", rebuilding", e);
+            }
+        }
+
+        try {
+            WordLexicon lexicon = compile(dictDirectory);
+            if (lexicon != null) {
+                save(lexicon.fst, cache);
+            }
+            return lexicon;
+        } catch (IOException e) {
+            Gdx.app.error("WordLexicon", "Failed to compile the WordNet lexicon", e);
+            return null;
+        }
+    }
+
+    public static WordLexicon compile(File dictDirectory) throws IOException {
+        List<String> lemmas = new ArrayList<>();
+        for (String name : INDEX_FILES) {
+            File index = new File(dictDirectory, name);
+            if (!index.exists()) continue;
+            try (BufferedReader reader = Files.newBufferedReader(index.toPath(), StandardCharsets.ISO_8859_1)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // License header lines start with spaces; the lemma is the first field
+                    if (line.isEmpty() || line.charAt(0) == ' ') continue;
+                    int end = line.indexOf(' ');
+                    String lemma = end < 0 ? line : line.substring(0, end);
+                    if (isAscii(lemma)) lemmas.add(lemma);
+                }
+            }
+        }
+        if (lemmas.isEmpty()) return null;
+
+        // FST input has to be sorted and unique; a lemma listed under several POS appears once
+        Collections.sort(lemmas);
+        FSTCompiler<Object> compiler = new FSTCompiler<>(FST.INPUT_TYPE.BYTE1, NoOutputs.getSingleton());
+        IntsRefBuilder scratch = new IntsRefBuilder();
+        String previous = null;
+        int count = 0;
+        for (String lemma : lemmas) {
+            if (lemma.equals(previous)) continue;
+            compiler.add(Util.toIntsRef(new BytesRef(lemma), scratch), NoOutputs.getSingleton().getNoOutput());
+            previous = lemma;
+            count++;
+        }
+        return new WordLexicon(compiler.compile(), count);
+    }
+
+    // Whether word is a WordNet lemma. Case-insensitive; spaces match the "_" of multi-word lemmas.
+    public boolean contains(CharSequence word) {
+        int length = word.length();
+        if (length == 0) return false;
+
+        Cursor cursor = cursors.get();
+        FST.Arc<Object> arc = fst.getFirstArc(cursor.arc);
+        try {
+            for (int i = 0; i < length; i++) {
+                int label = toLabel(word.charAt(i));
+                if (label < 0 || fst.findTargetArc(label, arc, arc, cursor.reader) == null) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            // On-heap FST, the reader does not do I/O
+            return false;
+        }
+        return arc.isFinal();
+    }
+
+    // Every lemma of minLength..maxLength plain letters that can be spelled from letterCounts
+    // (count per letter A-Z), each letter used at most as often as it is available. The automaton is
+    // walked depth-first and a branch is cut as soon as its next letter is not available, so the cost
+    // follows the number of spellable prefixes, not the size of the lexicon. Letters are reported in
+    // upper case.
+    public void collectWords(int[] letterCounts, int minLength, int maxLength, WordVisitor visitor) {
+        FST.BytesReader reader = fst.getBytesReader();
+        @SuppressWarnings("unchecked")
+        FST.Arc<Object>[] arcs = new FST.Arc[maxLength + 1];
+        for (int i = 0; i <= maxLength; i++) arcs[i] = new FST.Arc<>();
+        char[] letters = new char[maxLength];
+        try {
+            collect(fst.getFirstArc(arcs[0]), 0, letterCounts, minLength, maxLength, arcs, letters, reader, visitor);
+        } catch (IOException e) {
+            // On-heap FST, the reader does not do I/O
+        }
+    }
+
+    private void collect(FST.Arc<Object> parent, int depth, int[] letterCounts, int minLength, int maxLength,
+                         FST.Arc<Object>[] arcs, char[] letters, FST.BytesReader reader, WordVisitor visitor) throws IOException {
+        if (depth == maxLength || !FST.targetHasArcs(parent)) return;
+
+        FST.Arc<Object> arc = fst.readFirstTargetArc(parent, arcs[depth + 1], reader);
+        while (true) {
+            int letter = arc.label() - 'a'; // END_LABEL and non-letters fall outside 0..25
+            if (letter >= 0 && letter < 26 && letterCounts[letter] > 0) {
+                letterCounts[letter]--;
+                letters[depth] = (char) ('A' + letter);
+                if (arc.isFinal() && depth + 1 >= minLength) {
+                    visitor.visit(letters, depth + 1);
+                }
+                collect(arc, depth + 1, letterCounts, minLength, maxLength, arcs, letters, reader, visitor);
+                letterCounts[letter]++;
+            }
+            if (arc.isLast()) break;
+            fst.readNextArc(arc, reader);
+        }
+    }
+
+    private static int toLabel(char c) {
+        if (c >= 'A' && c <= 'Z') return c + ('a' - 'A');
+        if (c == ' ') return '_';
+        return c < 0x80 ? c : -1;
+    }
+
+    private static boolean isAscii(String lemma) {
+        for (int i = 0; i < lemma.length(); i++) {
+            if (lemma.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    // Size and timestamp of each index file; any change to the dictionary gives a new cache name.
+    // WordDetailCache keys its file on the same stamp.
+    static long stamp(File dictDirectory) {
+        long stamp = 17;
+        for (String name : INDEX_FILES) {
+            File index = new File(dictDirectory, name);
+            stamp = 31 * stamp + index.length();
+            stamp = 31 * stamp + index.lastModified();
+        }
+        return stamp;
+    }
+
+    private static void save(FST<Object> fst, File cache) {
+        try {
+            File directory = cache.getParentFile();
+            directory.mkdirs();
+            // Drop lexicons compiled from older versions of the dictionary
+            File[] stale = directory.listFiles((dir, name) -> name.startsWith("lexicon-") && name.endsWith(".fst"));
+            if (stale != null) {
+                for (File file : stale) file.delete();
+            }
+            Path path = cache.toPath();
+            fst.save(path);
+        } catch (IOException e) {
+            // Only a cache; the next start compiles the lexicon again
+            Gdx.app.error("WordLexicon", "Could not write " + cache.getPath(), e);
+        }
+    }
+
+    // Number of distinct lemmas, or -1 when the lexicon was read from the cache
+    public int getLemmaCount() {
+        return lemmaCount;
+    }
+
+    public long getMemoryBytes() {
+        return fst.ramBytesUsed();
+    }
+}
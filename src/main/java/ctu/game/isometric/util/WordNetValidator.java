@@ -17,14 +17,18 @@ import java.util.*;
 
 public class WordNetValidator {
     private static IDictionary dictionary;
+    // All lemmas compiled into an FST; once published, isValidWord no longer touches JWI
+    private static volatile WordLexicon lexicon;
     private final Map<String, Boolean> cache;
+    // Parsed Word details; shared instances, callers must not modify them
+    private final WordDetailCache detailCache = new WordDetailCache(WordDetailCache.DEFAULT_BUDGET_BYTES);
     private volatile boolean dictionaryLoaded = false;
     private static final int CACHE_SIZE = 100;
 
     // Filter parameters
     //change to 1
-    private static final int MIN_WORD_LENGTH = 1;
-    private static final int MAX_WORD_LENGTH = 11;
+    public static final int MIN_WORD_LENGTH = 1;
+    public static final int MAX_WORD_LENGTH = 11;
 
     public WordNetValidator() {
         // Thread-safe LRU cache
@@ -67,24 +71,41 @@ public synchronized void loadDictionary() {
     if (dictionaryLoaded) return;
 
     try {
-        String wordNetPath = "src/main/resources/game/dict";
-        URL url = new File(wordNetPath).toURI().toURL();
+        File wordNetPath = dictDirectory();
+        URL url = wordNetPath.toURI().toURL();
         dictionary = new Dictionary(url);
         dictionary.open();
         dictionaryLoaded = true;
         Gdx.app.log("WordNetValidator", "WordNet dictionary loaded");
+        lexicon = WordLexicon.load(wordNetPath);
     } catch (IOException e) {
         Gdx.app.error("WordNetValidator", "Failed to load WordNet dictionary", e);
     }
 }
 
+    // Overridable so tools that do not run from the project root (benchmarks) can point at the dictionary
+    private static File dictDirectory() {
+        return new File(System.getProperty("isometric.dict", "src/main/resources/game/dict"));
+    }
+
 
 
+    // Compiled lexicon, null until loadDictionary has built or read it
+    public static WordLexicon getLexicon() {
+        return lexicon;
+    }
+
     public boolean isValidWord(String word) {
         if (word == null || word.length() < MIN_WORD_LENGTH || word.length() > MAX_WORD_LENGTH) {
             return false;
         }
 
+        // Lock-free walk of the compiled lexicon, no case conversion or cache needed
+        WordLexicon compiled = lexicon;
+        if (compiled != null) {
+            return compiled.contains(word);
+        }
+
         // Normalize word to uppercase once
         String upperWord = word.toUpperCase();
 
@@ -156,6 +177,34 @@ public synchronized void loadDictionary() {
     }
 
     public Word getWordDetails(String wordText) {
+        Word cached = detailCache.get(wordText);
+        if (cached != null) {
+            return cached;
+        }
+        Word word = parseWordDetails(wordText);
+        detailCache.put(wordText, word);
+        return word;
+    }
+
+    // Read back the details persisted by the previous run, off the render thread
+    public void warmDetailCache() {
+        Thread warmer = new Thread(() -> {
+            int loaded = detailCache.load(WordLexicon.stamp(dictDirectory()));
+            Gdx.app.log("WordNetValidator", "Word details warmed from disk: " + loaded);
+        }, "word-cache-warmer");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    public void saveDetailCache() {
+        detailCache.save(WordLexicon.stamp(dictDirectory()));
+    }
+
+    public WordDetailCache getDetailCache() {
+        return detailCache;
+    }
+
+    private Word parseWordDetails(String wordText) {
         if (!dictionaryLoaded) {
             loadDictionary();
         }
@@ -325,6 +374,18 @@ public synchronized void loadDictionary() {
         return calculateScore(word) + calculateBonusPoints(word);
     }
 
+    // What submitting a WordNet lemma earns: the same as getTotalScore(getWordDetails(word)), but the
+    // part of speech and synonyms come straight from the index, so no glosses are parsed
+    public static int getLemmaScore(String word) {
+        if (word == null) return 0;
+        return getTotalScore(new Word(word));
+    }
+
+    // Most the part-of-speech and synonym bonuses can add on top of getTotalScore(String)
+    public static int getMaxLexicalBonus() {
+        return Collections.max(POS_BONUS.values()) + getSynonymCountBonus(0);
+    }
+
 
     /**
      * Calculates semantic uniqueness bonus based on distance from common words
@@ -3,10 +3,10 @@ package ctu.game.isometric.view.menu;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
@@ -15,8 +15,6 @@ import ctu.game.isometric.model.entity.Character;
 import ctu.game.isometric.model.entity.Gender;
 import ctu.game.isometric.model.game.GameState;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class CharacterCreation {
     private GameController gameController;
     private boolean initialized = false;
@@ -30,9 +28,9 @@ public class CharacterCreation {
     private static final int MAX_NAME_LENGTH = 20;
 
     // Static textures
-    private Texture maleAvatar;
-    private Texture femaleAvatar;
-    private Texture currentAvatar;
+    private TextureRegion maleAvatar;
+    private TextureRegion femaleAvatar;
+    private TextureRegion currentAvatar;
 
     private Rectangle nameInputBox;
     private Rectangle maleButton;
@@ -51,15 +49,15 @@ public class CharacterCreation {
     private void initResources() {
         // Initialize resources needed for rendering
         if (!initialized) {
-            this.font = generateVietNameseFont("GrenzeGotisch.ttf", 30);
+            this.font = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 30);
 
             shapeRenderer = new ShapeRenderer();
             layout = new GlyphLayout();
 
             // Load static avatars
             try {
-                maleAvatar = new Texture(Gdx.files.internal("characters/male_avatar.png"));
-                femaleAvatar = new Texture(Gdx.files.internal("characters/female_avatar.png"));
+                maleAvatar = gameController.getAssetManager().getRegion("characters/male_avatar.png");
+                femaleAvatar = gameController.getAssetManager().getRegion("characters/female_avatar.png");
                 currentAvatar = maleAvatar;
             } catch (Exception e) {
                 Gdx.app.error("CharacterCreation", "Failed to load avatars", e);
@@ -255,10 +253,8 @@ public class CharacterCreation {
     }
 
     public void dispose() {
-        if (font != null) font.dispose();
+        gameController.getAssetManager().release(font);
         if (shapeRenderer != null) shapeRenderer.dispose();
-        if (maleAvatar != null) maleAvatar.dispose();
-        if (femaleAvatar != null) femaleAvatar.dispose();
         initialized = false;
     }
 }
\ No newline at end of file
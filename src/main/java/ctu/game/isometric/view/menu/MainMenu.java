@@ -6,21 +6,20 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 import ctu.game.isometric.controller.GameController;
 import ctu.game.isometric.model.game.GameState;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class MainMenu {
     private GameController gameController;
     private Texture backgroundImage;
     private BitmapFont font;
 
     // Button textures
-    private Texture buttonNormal;
-    private Texture buttonSelected;
+    private TextureRegion buttonNormal;
+    private TextureRegion buttonSelected;
 
     // Screen dimensions
     private final int screenWidth = 1280;
@@ -42,16 +41,16 @@ public class MainMenu {
     private final float INPUT_DELAY = 0.2f;
 
     public MainMenu(GameController gameController) {
-       this.font = generateVietNameseFont("GrenzeGotisch.ttf", 30);
+       this.font = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 30);
 
         this.gameController = gameController;
 
         // Load background image
-        backgroundImage = new Texture(Gdx.files.internal("backgrounds/main_menu_bg.png"));
+        backgroundImage = gameController.getAssetManager().acquireTexture("backgrounds/main_menu_bg.png");
 
         // Load button textures
-        buttonNormal = new Texture(Gdx.files.internal("ui/button.png"));
-        buttonSelected = new Texture(Gdx.files.internal("ui/button_selected.png"));
+        buttonNormal = gameController.getAssetManager().getRegion("ui/button.png");
+        buttonSelected = gameController.getAssetManager().getRegion("ui/button_selected.png");
 
         // Initialize button rectangles
         buttonRects = new Rectangle[menuOptions.length];
@@ -88,7 +87,7 @@ public class MainMenu {
             Rectangle buttonRect = buttonRects[i];
 
             // Choose texture based on selection state
-            Texture buttonTexture = (i == selectedOption) ? buttonSelected : buttonNormal;
+            TextureRegion buttonTexture = (i == selectedOption) ? buttonSelected : buttonNormal;
 
             // Draw button
             batch.draw(buttonTexture, buttonRect.x, buttonRect.y, buttonRect.width, buttonRect.height);
@@ -164,9 +163,7 @@ public class MainMenu {
     }
 
     public void dispose() {
-        backgroundImage.dispose();
-        font.dispose();
-        buttonNormal.dispose();
-        buttonSelected.dispose();
+        gameController.getAssetManager().release(backgroundImage);
+        gameController.getAssetManager().release(font);
     }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package ctu.game.isometric.view.menu;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -22,8 +21,6 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class PauseMenu {
 
     private GameController gameController;
@@ -61,15 +58,15 @@ public class PauseMenu {
         this.selectedIndex = 0;
         this.menuItems = new ArrayList<>();
 
-        this.titleFont = generateVietNameseFont("GrenzeGotisch.ttf", 50);
-        this.itemFont = generateVietNameseFont("GrenzeGotisch.ttf", 30);
+        this.titleFont = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 50);
+        this.itemFont = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 30);
 
         // Initialize rendering tools
         this.shapeRenderer = new ShapeRenderer();
 
         // Load button textures
-        this.buttonTexture = new TextureRegion(new Texture(Gdx.files.internal("ui/button.png")));
-        this.buttonSelectedTexture = new TextureRegion(new Texture(Gdx.files.internal("ui/button_selected.png")));
+        this.buttonTexture = gameController.getAssetManager().getRegion("ui/button.png");
+        this.buttonSelectedTexture = gameController.getAssetManager().getRegion("ui/button_selected.png");
 
         // Add default menu items
         addMenuItem("Tiếp Tục", () -> gameController.returnToPreviousState());
@@ -102,6 +99,7 @@ public class PauseMenu {
 
         boolean saved = saveService.saveGame(character, filename,gameController.getEventManager());
         if (saved) {
+            gameController.getWordNetValidator().saveDetailCache();
             showSaveSuccessNotification(filename);
             System.out.println("Game saved successfully as: " + filename + ".json");
         } else {
@@ -276,12 +274,9 @@ public class PauseMenu {
     }
 
     public void dispose() {
-        if (titleFont != null) titleFont.dispose();
-        if (itemFont != null) itemFont.dispose();
+        gameController.getAssetManager().release(titleFont);
+        gameController.getAssetManager().release(itemFont);
         if (shapeRenderer != null) shapeRenderer.dispose();
-        if (buttonTexture != null && buttonTexture.getTexture() != null) buttonTexture.getTexture().dispose();
-        if (buttonSelectedTexture != null && buttonSelectedTexture.getTexture() != null)
-            buttonSelectedTexture.getTexture().dispose();
     }
 
     private static class MenuItem {
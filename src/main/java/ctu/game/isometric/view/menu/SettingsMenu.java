@@ -3,9 +3,9 @@ package ctu.game.isometric.view.menu;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
@@ -16,8 +16,6 @@ import ctu.game.isometric.model.game.GameState;
 import java.util.ArrayList;
 import java.util.List;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class SettingsMenu {
     private GameController gameController;
     private List<MenuOption> menuOptions;
@@ -37,8 +35,8 @@ public class SettingsMenu {
     private float selectionPulse = 0;
     private String menuTitle = "Thiết Lập";
 
-    private Texture sliderKnobTexture;    // For sliders
-    private Texture sliderBarTexture;
+    private TextureRegion sliderKnobTexture;    // For sliders
+    private TextureRegion sliderBarTexture;
 
     // Mouse interaction properties
     private List<Rectangle> buttonRectangles; // Store button positions for hit detection
@@ -53,15 +51,15 @@ public class SettingsMenu {
         this.buttonRectangles = new ArrayList<>();
         this.sliderRectangles = new ArrayList<>();
 
-        this.font = generateVietNameseFont("GrenzeGotisch.ttf", 30);
+        this.font = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 30);
 
-        this.titleFont = generateVietNameseFont("GrenzeGotisch.ttf", 50);
+        this.titleFont = gameController.getAssetManager().acquireFont("GrenzeGotisch.ttf", 50);
 
         this.shapeRenderer = new ShapeRenderer();
 
         // Load textures
-        sliderKnobTexture = new Texture(Gdx.files.internal("ui/slider_knob.png"));
-        sliderBarTexture = new Texture(Gdx.files.internal("ui/slider_bar.png"));
+        sliderKnobTexture = gameController.getAssetManager().getRegion("ui/slider_knob.png");
+        sliderBarTexture = gameController.getAssetManager().getRegion("ui/slider_bar.png");
 
         // Add adjustable options connected to MusicController
         addMenuOption("Âm Thanh: ", MenuOption.OptionType.TOGGLE,
@@ -282,17 +280,11 @@ public class SettingsMenu {
     }
 
     public void dispose() {
-        if (font != null) {
-            font.dispose();
-        }
-        if (titleFont != null) {
-            titleFont.dispose();
-        }
+        gameController.getAssetManager().release(font);
+        gameController.getAssetManager().release(titleFont);
         if (shapeRenderer != null) {
             shapeRenderer.dispose();
         }
-        if (sliderKnobTexture != null) sliderKnobTexture.dispose();
-        if (sliderBarTexture != null) sliderBarTexture.dispose();
         for (MenuOption option : menuOptions) {
             if (option.getType() == MenuOption.OptionType.SLIDER) {
                 // Dispose slider-specific resources if any
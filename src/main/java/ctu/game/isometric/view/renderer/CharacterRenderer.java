@@ -14,6 +14,10 @@ public class CharacterRenderer {
     private MapRenderer mapRenderer;
     Gender gender;
 
+    // Position character at the center of the tile
+    private static final float OFFSET_X = 11; // Half of sprite width (48/2)
+    private static final float OFFSET_Y = -5; // Position the feet at tile base (character sprite height - tile height)
+
     public CharacterRenderer(Character character, AssetManager assetManager, MapRenderer mapRenderer) {
         this.character = character;
         character.setGameMap(mapRenderer.getMap());
@@ -30,26 +34,27 @@ public class CharacterRenderer {
     }
 
     public void render(SpriteBatch batch) {
-        float gridX = character.getGridX();
-        float gridY = character.getGridY();
-
-        float[] screenPos = mapRenderer.toIsometric(gridX, gridY);
+        TextureRegion currentFrame = currentFrame();
+        float[] screenPos = mapRenderer.toIsometric(character.getGridX(), character.getGridY());
+        batch.draw(currentFrame, screenPos[0] + OFFSET_X, screenPos[1] + OFFSET_Y);
+    }
 
-        float isoX = screenPos[0];
-        float isoY = screenPos[1];
+    // Queue the character so it is depth-sorted against trees and objects
+    public void submit(RenderQueue queue) {
+        TextureRegion currentFrame = currentFrame();
+        float[] screenPos = mapRenderer.toIsometric(character.getGridX(), character.getGridY());
+        queue.submit(currentFrame, screenPos[0] + OFFSET_X, screenPos[1] + OFFSET_Y,
+                currentFrame.getRegionWidth(), currentFrame.getRegionHeight(), screenPos[1]);
+    }
 
+    private TextureRegion currentFrame() {
         // Get animation frame with translated direction
         String direction = translateDirection(character.getDirection());
-        TextureRegion currentFrame = animationManager.getCharacterFrame(
+        return animationManager.getCharacterFrame(
                 direction,
                 character.isMoving(),
                 character.getAnimationTime()
         );
-        // Position character at the center of the tile
-        float offsetPlayerX = 11; // Half of sprite width (48/2)
-        float offsetPlayerY = -5; // Position the feet at tile base (character sprite height - tile height)
-
-        batch.draw(currentFrame, isoX + offsetPlayerX, isoY + offsetPlayerY);
     }
 
     // Convert simplified direction to sprite sheet direction
@@ -0,0 +1,256 @@
+package ctu.game.isometric.view.renderer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.utils.Array;
+import ctu.game.isometric.model.world.IsometricMap;
+
+import java.util.Arrays;
+
+// Draws the static tile layers from geometry baked per 16x16 chunk into a SpriteCache, instead of
+// letting IsometricTiledMapRenderer cull and re-emit every visible tile each frame.
+// A chunk is baked the first time it comes into view and again only when its tile version changes.
+// Tiles taller than the tile footprint (trees, wells) are kept out of the cache and submitted to the
+// RenderQueue, where they are depth-sorted together with objects and characters.
+public class ChunkedGroundRenderer {
+    private static final int CHUNK_SIZE = IsometricMap.CHUNK_SIZE;
+    // Baked chunks kept at once at most; comfortably above what the camera sees at MAX_ZOOM
+    private static final int MAX_SLOTS = 96;
+
+    // A tile submitted to the render queue each frame (flips are kept, 90-degree rotations are not)
+    private static class TallTile {
+        final Sprite sprite;
+        final float footY; // iso Y of the cell the tile stands on
+
+        TallTile(Sprite sprite, float footY) {
+            this.sprite = sprite;
+            this.footY = footY;
+        }
+    }
+
+    private final IsometricMap map;
+    private final TiledMapTileLayer[] layers;
+    private final int spritesPerChunk;
+    private final SpriteCache cache;
+    private final Sprite scratch = new Sprite();
+
+    // Slot bookkeeping
+    private final int slots; // MAX_SLOTS, or fewer on maps with fewer chunks
+    private final int[] slotCacheIds;
+    private final int[] slotChunks;
+    private final long[] slotLastUsed;
+    private final int[] chunkSlots;        // chunk -> slot, -1 when not baked
+    private final int[] bakedVersions;     // tile version each chunk was baked at
+    private final Array<TallTile>[] tallTiles;
+    private long frame = 0;
+
+    private final Array<TallTile> visibleTallTiles = new Array<>(false, 64);
+
+    private int chunkDrawCalls;
+
+    @SuppressWarnings("unchecked")
+    public ChunkedGroundRenderer(IsometricMap map) {
+        this.map = map;
+        this.layers = map.getTiledMap().getLayers().getByType(TiledMapTileLayer.class).toArray(TiledMapTileLayer.class);
+        this.spritesPerChunk = Math.max(1, layers.length) * CHUNK_SIZE * CHUNK_SIZE;
+
+        int chunkCount = map.getChunksX() * map.getChunksY();
+        chunkSlots = new int[chunkCount];
+        bakedVersions = new int[chunkCount];
+        tallTiles = new Array[chunkCount];
+        Arrays.fill(chunkSlots, -1);
+
+        // Small maps only reserve vertices for the chunks they have
+        slots = Math.min(MAX_SLOTS, chunkCount);
+        slotCacheIds = new int[slots];
+        slotChunks = new int[slots];
+        slotLastUsed = new long[slots];
+
+        // Non-indexed, so the cache is not capped at 8191 sprites. Every slot is reserved at full size
+        // up front because SpriteCache only lets a cache be redefined with as many sprites as it started with.
+        cache = new SpriteCache(slots * spritesPerChunk, false);
+        TextureRegion placeholder = findAnyRegion();
+        for (int slot = 0; slot < slots; slot++) {
+            cache.beginCache();
+            if (placeholder != null) {
+                for (int i = 0; i < spritesPerChunk; i++) {
+                    cache.add(placeholder, 0, 0, 0, 0);
+                }
+            }
+            slotCacheIds[slot] = cache.endCache();
+            slotChunks[slot] = -1;
+        }
+    }
+
+    // Draw the chunks overlapping the tile rectangle under the camera
+    public void render(OrthographicCamera camera, int minX, int minY, int maxX, int maxY) {
+        frame++;
+        chunkDrawCalls = 0;
+        visibleTallTiles.clear();
+
+        int fromX = Math.max(0, minX) / CHUNK_SIZE;
+        int fromY = Math.max(0, minY) / CHUNK_SIZE;
+        int toX = Math.min(map.getMapWidth() - 1, maxX) / CHUNK_SIZE;
+        int toY = Math.min(map.getMapHeight() - 1, maxY) / CHUNK_SIZE;
+        if (maxX < 0 || maxY < 0 || minX >= map.getMapWidth() || minY >= map.getMapHeight()) return;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        boolean drawing = false;
+
+        for (int chunkY = toY; chunkY >= fromY; chunkY--) {
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                int chunk = chunkY * map.getChunksX() + chunkX;
+                int slot = chunkSlots[chunk];
+                if (slot < 0 || bakedVersions[chunk] != map.getTileVersion(chunkX, chunkY)) {
+                    // SpriteCache cannot be redefined between begin() and end()
+                    if (drawing) {
+                        cache.end();
+                        drawing = false;
+                    }
+                    slot = bake(chunkX, chunkY);
+                    if (slot < 0) continue;
+                }
+                slotLastUsed[slot] = frame;
+                if (!drawing) {
+                    cache.begin();
+                    drawing = true;
+                }
+                cache.draw(slotCacheIds[slot]);
+                chunkDrawCalls++;
+                if (tallTiles[chunk] != null) {
+                    visibleTallTiles.addAll(tallTiles[chunk]);
+                }
+            }
+        }
+        if (drawing) {
+            cache.end();
+        }
+    }
+
+    // Queue the tall tiles of the chunks drawn by the last render call
+    public void submitTallTiles(RenderQueue queue) {
+        for (TallTile tile : visibleTallTiles) {
+            Sprite sprite = tile.sprite;
+            queue.submit(sprite, sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(),
+                    tile.footY, RenderQueue.LAYER_STANDING, sprite.getColor().toFloatBits());
+        }
+    }
+
+    public int getChunkDrawCalls() {
+        return chunkDrawCalls;
+    }
+
+    private int bake(int chunkX, int chunkY) {
+        int slot = claimSlot();
+        if (slot < 0) return -1;
+
+        int chunk = chunkY * map.getChunksX() + chunkX;
+        if (slotChunks[slot] >= 0) {
+            chunkSlots[slotChunks[slot]] = -1;
+        }
+        slotChunks[slot] = chunk;
+        chunkSlots[chunk] = slot;
+        bakedVersions[chunk] = map.getTileVersion(chunkX, chunkY);
+
+        int startX = chunkX * CHUNK_SIZE, endX = Math.min(startX + CHUNK_SIZE, map.getMapWidth());
+        int startY = chunkY * CHUNK_SIZE, endY = Math.min(startY + CHUNK_SIZE, map.getMapHeight());
+        // With streaming on, the cells only exist while the chunk is resident
+        map.touchRegion(startX, startY, endX - 1, endY - 1);
+
+        Array<TallTile> tall = null;
+        float halfTileWidth = map.getTileWidth() / 2f;
+        float halfTileHeight = map.getTileHeight() / 2f;
+
+        cache.beginCache(slotCacheIds[slot]);
+        for (TiledMapTileLayer layer : layers) {
+            if (!layer.isVisible()) continue;
+            float layerOffsetX = layer.getRenderOffsetX();
+            float layerOffsetY = -layer.getRenderOffsetY();
+            float opacity = layer.getOpacity();
+
+            // Same order and placement as IsometricTiledMapRenderer: rows from the top, columns left to right
+            for (int row = endY - 1; row >= startY; row--) {
+                for (int col = startX; col < endX; col++) {
+                    TiledMapTileLayer.Cell cell = layer.getCell(col, row);
+                    if (cell == null) continue;
+                    TiledMapTile tile = cell.getTile();
+                    if (tile == null) continue;
+
+                    TextureRegion region = tile.getTextureRegion();
+                    float x = col * halfTileWidth + row * halfTileWidth + tile.getOffsetX() + layerOffsetX;
+                    float y = row * halfTileHeight - col * halfTileHeight + tile.getOffsetY() + layerOffsetY;
+
+                    boolean isTall = region.getRegionHeight() > map.getTileHeight() || region.getRegionWidth() > map.getTileWidth();
+                    Sprite sprite = isTall ? new Sprite() : scratch;
+                    setUpSprite(sprite, cell, region, x, y, opacity);
+                    if (isTall) {
+                        if (tall == null) tall = new Array<>(false, 8);
+                        tall.add(new TallTile(sprite, row * halfTileHeight - col * halfTileHeight));
+                    } else {
+                        cache.add(sprite);
+                    }
+                }
+            }
+        }
+        cache.endCache();
+        tallTiles[chunk] = tall;
+        return slot;
+    }
+
+    private void setUpSprite(Sprite sprite, TiledMapTileLayer.Cell cell, TextureRegion region, float x, float y, float opacity) {
+        sprite.setRegion(region);
+        sprite.setBounds(x, y, region.getRegionWidth(), region.getRegionHeight());
+        sprite.setFlip(cell.getFlipHorizontally(), cell.getFlipVertically());
+        switch (cell.getRotation()) {
+            case TiledMapTileLayer.Cell.ROTATE_90:
+                sprite.rotate90(false);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_180:
+                sprite.rotate90(false);
+                sprite.rotate90(false);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_270:
+                sprite.rotate90(true);
+                break;
+        }
+        sprite.setColor(1f, 1f, 1f, opacity);
+    }
+
+    // A free slot, else the least recently drawn one that is not on screen this frame
+    private int claimSlot() {
+        int best = -1;
+        for (int slot = 0; slot < slots; slot++) {
+            if (slotChunks[slot] < 0) return slot;
+            if (slotLastUsed[slot] == frame) continue;
+            if (best < 0 || slotLastUsed[slot] < slotLastUsed[best]) {
+                best = slot;
+            }
+        }
+        if (best < 0) {
+            Gdx.app.error("ChunkedGroundRenderer", "More than " + slots + " chunks on screen, skipping the rest");
+        }
+        return best;
+    }
+
+    private TextureRegion findAnyRegion() {
+        for (TiledMapTileSet tileSet : map.getTiledMap().getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                return tile.getTextureRegion();
+            }
+        }
+        return null;
+    }
+
+    public void dispose() {
+        cache.dispose();
+    }
+}
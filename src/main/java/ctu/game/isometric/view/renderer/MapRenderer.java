@@ -17,7 +17,6 @@ import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
-import com.badlogic.gdx.maps.tiled.renderers.IsometricTiledMapRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import ctu.game.isometric.controller.EventManager;
@@ -26,6 +25,8 @@ import ctu.game.isometric.model.world.IsometricMap;
 import ctu.game.isometric.model.world.MapEvent;
 import ctu.game.isometric.util.AnimationManager;
 import ctu.game.isometric.util.AssetManager;
+import ctu.game.isometric.util.FontGenerator;
+import ctu.game.isometric.util.TextLayoutCache;
 
 public class MapRenderer {
     private IsometricMap map;
@@ -33,19 +34,23 @@ public class MapRenderer {
     private float offsetX, offsetY;
     private AnimationManager animationManager;
     private Character character;
-    private IsometricTiledMapRenderer tiledMapRenderer;
+    private ChunkedGroundRenderer groundRenderer;
+    private final RenderQueue renderQueue = new RenderQueue();
+    private int visibleMinX, visibleMinY, visibleMaxX, visibleMaxY;
     private OrthographicCamera camera;
     Texture backgroundTexture;
 
     private BitmapFont font;
+    private final TextLayoutCache textLayouts = new TextLayoutCache(16);
 
     private float cameraZoom = 0.5f;
     private static final float MIN_ZOOM = 0.5f;
     private static final float MAX_ZOOM = 2.0f;
     private static final float ZOOM_STEP = 0.1f;
-    Texture buttonTexture;
+    TextureRegion buttonTexture;
 
     private EventManager eventManager;
+    private ObjectDrawIndex objectIndex; // built on the first frame
 
     // In MapRenderer.java - modify constructor to take an existing camera
     public MapRenderer(IsometricMap map, AssetManager assetManager,EventManager eventManager, Character character, OrthographicCamera camera) {
@@ -57,9 +62,8 @@ public class MapRenderer {
         this.offsetX = 640;
         this.offsetY = 150;
 
-        buttonTexture = new Texture(Gdx.files.internal("ui/action_icon.png"));
+        buttonTexture = assetManager.getRegion("ui/action_icon.png");
 
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/Tektur-Bold.ttf"));
         FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
         // Initialize fonts
 
@@ -70,15 +74,15 @@ public class MapRenderer {
         parameter.shadowOffsetX = 1; // Add shadow for depth
         parameter.shadowOffsetY = 1;
         parameter.shadowColor = new Color(0, 0, 0, 0.5f);
-        this.font = generator.generateFont(parameter);
-        generator.dispose();
+        // Shared with the previous MapRenderer, so a new map does not regenerate it
+        this.font = assetManager.acquireFont("Tektur-Bold.ttf", "action-outline", FontGenerator.incremental(parameter));
 
 
         // Use the provided camera instead of creating a new one
         this.camera = camera;
 //        backgroundTexture = new Texture(Gdx.files.internal("maps/background.png"));
-        // Create the tiled map renderer
-        this.tiledMapRenderer = new IsometricTiledMapRenderer(map.getTiledMap());
+        // Create the tile layer renderer
+        this.groundRenderer = new ChunkedGroundRenderer(map);
     }
 
     public EventManager getEventManager() {
@@ -87,6 +91,9 @@ public class MapRenderer {
 
     public void setEventManager(EventManager eventManager) {
         this.eventManager = eventManager;
+        if (objectIndex != null) {
+            objectIndex.setEventManager(eventManager);
+        }
     }
 
     public float[] toIsometric(float x, float y, float zoom) {
@@ -119,67 +126,70 @@ public class MapRenderer {
             batch.end();
         }
 
-        // Render tile map
-        tiledMapRenderer.setView(camera);
-        tiledMapRenderer.render();
+        // Render tile map from the baked chunk geometry
+        updateVisibleTiles();
+        groundRenderer.render(camera, visibleMinX, visibleMinY, visibleMaxX, visibleMaxY);
+
+        // Everything standing on the map goes through the depth-sorted queue; callers add their
+        // own drawables (characters, highlights) and then call flushRenderQueue
+        renderQueue.begin();
+        groundRenderer.submitTallTiles(renderQueue);
+        renderObjectLayer("object");
 
         // Resume batch if it was drawing before
         if (batchWasDrawing) {
             batch.begin();
             batch.setProjectionMatrix(camera.combined);
-            renderObjectLayer(batch, "object");
         }
     }
 
-    private void renderObjectLayer(SpriteBatch batch, String layerName) {
-        MapLayer objectLayer = map.getTiledMap().getLayers().get(layerName);
-        if (objectLayer != null) {
-            for (MapObject object : objectLayer.getObjects()) {
-                Float x = object.getProperties().get("x", Float.class);
-                Float y = object.getProperties().get("y", Float.class);
-
-                // Skip completed events
-                if (object.getProperties().containsKey("id")) {
-                    String eventId = eventManager.getStringProperty(object.getProperties(),"id", "");
-                    MapEvent event = eventManager.getEvent(eventId);
-                    if (event != null && event.isOneTime() && event.isCompleted()) {
-                        continue; // Skip rendering this object
-                    }
-                }
-
-                if (x != null && y != null && object.getProperties().containsKey("gid")) {
-                    int gid = object.getProperties().get("gid", Integer.class);
-                    Float width = object.getProperties().get("width", Float.class);
-                    Float height = object.getProperties().get("height", Float.class);
-
-                    // Provide default values for width and height if null
-                    if (width == null) width = (float) map.getTileWidth(); // Cast to float
-                    if (height == null) height = (float) map.getTileHeight(); // Cast to float
-
-                    // Find the tile in all map tilesets
-                    TiledMapTile tile = map.getTiledMap().getTileSets().getTile(gid);
-
-                    if (tile != null) {
-                        int[] gridPos = toGrid(x, y);
-
-                        // In Tiled, Y is at the bottom of object. Adjust for isometric view.
-                        float gridX = gridPos[0];
-                        float gridY = gridPos[1];
-
-                        float[] isoPos = toIsometric(gridX, gridY);
-                        TextureRegion region = tile.getTextureRegion();
-                        batch.draw(region,
-                                isoPos[0] - width / 2,      // Center horizontally
-                                isoPos[1] - height / 4,     // Improved alignment for isometric view
-                                width, height);
-                    }
-                }
-            }
+    // Draw the queued map drawables back to front; the batch must be drawing
+    public void flushRenderQueue(SpriteBatch batch) {
+        renderQueue.flush(batch);
+    }
+
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    // Tile rectangle under the camera; with streaming on, also make sure those chunks have their cells loaded
+    private void updateVisibleTiles() {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        float left = camera.position.x - halfWidth;
+        float right = camera.position.x + halfWidth;
+        float bottom = camera.position.y - halfHeight;
+        float top = camera.position.y + halfHeight;
+
+        // Inverse of toIsometric: x = (isoX / halfW - isoY / halfH) / 2, y = (isoX / halfW + isoY / halfH) / 2
+        float halfTileWidth = map.getTileWidth() / 2f;
+        float halfTileHeight = map.getTileHeight() / 2f;
+        int minX = (int) Math.floor((left / halfTileWidth - top / halfTileHeight) / 2);
+        int maxX = (int) Math.ceil((right / halfTileWidth - bottom / halfTileHeight) / 2);
+        int minY = (int) Math.floor((left / halfTileWidth + bottom / halfTileHeight) / 2);
+        int maxY = (int) Math.ceil((right / halfTileWidth + top / halfTileHeight) / 2);
+
+        // Tall tiles (trees, wells) reach a few rows beyond their cell
+        int margin = 4;
+        visibleMinX = minX - margin;
+        visibleMinY = minY - margin;
+        visibleMaxX = maxX + margin;
+        visibleMaxY = maxY + margin;
+        if (map.isStreamingEnabled()) {
+            map.touchRegion(visibleMinX, visibleMinY, visibleMaxX, visibleMaxY);
+        }
+    }
+
+    // Objects come from a prebuilt spatial index; only the ones under the camera are visited
+    private void renderObjectLayer(String layerName) {
+        if (objectIndex == null) {
+            objectIndex = new ObjectDrawIndex(map, layerName, eventManager, this);
         }
+        objectIndex.submit(renderQueue, camera);
     }
 
     // Convert world coordinates to grid coordinates
-    private int[] toGrid(float worldX, float worldY) {
+    int[] toGrid(float worldX, float worldY) {
         // Basic conversion: divide by tile dimensions
         float gridX = worldX / map.getTileWidth();
         float gridY = worldY / map.getTileHeight();
@@ -238,7 +248,7 @@ public class MapRenderer {
             float[] isoPos = toIsometric(x, y);
             // Position the button above the tile
 
-            float buttonX = isoPos[0] - buttonTexture.getWidth() / 2;
+            float buttonX = isoPos[0] - buttonTexture.getRegionWidth() / 2;
             float buttonY = isoPos[1] + map.getTileHeight() / 2;
 
             // Draw button with subtle animation (floating effect)
@@ -247,41 +257,29 @@ public class MapRenderer {
 
             // Draw the text if font exists
             if (font != null) {
-                GlyphLayout layout = new GlyphLayout(font, buttonText);
-                font.draw(batch, buttonText,
-                        buttonX + buttonTexture.getWidth() / 2 - layout.width / 2,
-                        buttonY + buttonTexture.getHeight() + offsetY - 5); // Adjusted Y position
+                GlyphLayout layout = textLayouts.layout(font, buttonText, font.getColor());
+                font.draw(batch, layout,
+                        buttonX + buttonTexture.getRegionWidth() / 2 - layout.width / 2,
+                        buttonY + buttonTexture.getRegionHeight() + offsetY - 5); // Adjusted Y position
             }
         }
     }
 
     /**
-     * Renders highlights for walkable tiles around the player's position.
-     * @param batch The sprite batch to render with
-     * @param viewDistance How many tiles away from the player to check
-     * @param stateTime Current animation state time
-     */
-    /**
-     * Renders highlights for walkable tiles in the four cardinal directions from the player.
+     * Queues highlights for the walkable tiles around the player. They go on the ground layer of the
+     * render queue, so characters and objects are always drawn over them.
      *
-     * @param batch     The sprite batch to render with
      * @param stateTime Current animation state time
      */
-    public void renderWalkableTileHighlights(SpriteBatch batch, float stateTime) {
+    public void renderWalkableTileHighlights(float stateTime) {
         // Get character position
         int characterX = (int) Math.floor(character.getGridX());
         int characterY = (int) Math.floor(character.getGridY());
 
-        // Store original color
-        Color originalColor = new Color(batch.getColor());
-
-        // Set highlight color (semi-transparent green)
-        batch.setColor(0.2f, 1f, 0.2f, 0.5f);
-
-        // Create a list to hold valid adjacent tiles
-        java.util.List<int[]> validTiles = new java.util.ArrayList<>();
+        // Highlight color (semi-transparent green)
+        float highlightColor = Color.toFloatBits(0.2f, 1f, 0.2f, 0.5f);
 
-        // Define the four cardinal directions matching the movement controls
+        // The eight neighbours matching the movement controls
         int[][] directions = {
                 {1, 0},   // Up
                 {-1, 0},  // Down
@@ -293,48 +291,23 @@ public class MapRenderer {
                 {-1, 1}   // Down-Right
         };
 
-        // Check only the four cardinal directions
         for (int[] dir : directions) {
             int x = characterX + dir[0];
             int y = characterY + dir[1];
 
-            // Skip if out of bounds
-            if (x < 0 || x >= map.getMapWidth() || y < 0 || y >= map.getMapHeight()) {
+            // Skip if out of bounds or blocked
+            if (x < 0 || x >= map.getMapWidth() || y < 0 || y >= map.getMapHeight() || !map.isWalkable(x, y)) {
                 continue;
             }
 
-            // Check if walkable using map's chunk system
-            if (map.isWalkable(x, y)) {
-                validTiles.add(new int[]{x, y});
-            }
-        }
-
-        // Sort by isometric depth (higher x+y is farther from camera in isometric view)
-        validTiles.sort((a, b) -> {
-            int sumComparison = Integer.compare(b[0] + b[1], a[0] + a[1]);
-            return sumComparison != 0 ? sumComparison : Integer.compare(b[1], a[1]);
-        });
-
-        // Render each walkable tile
-        for (int[] tile : validTiles) {
-            int x = tile[0];
-            int y = tile[1];
-
             TiledMapTileLayer.Cell cell = map.getBaseLayer().getCell(x, y);
             if (cell != null && cell.getTile() != null) {
                 TextureRegion tileRegion = cell.getTile().getTextureRegion();
                 float[] iso = toIsometric(x, y);
-
-                batch.draw(tileRegion,
-                        iso[0],
-                        iso[1],
-                        map.getTileWidth(),
-                        map.getTileHeight());
+                renderQueue.submit(tileRegion, iso[0], iso[1], map.getTileWidth(), map.getTileHeight(),
+                        iso[1], RenderQueue.LAYER_GROUND, highlightColor);
             }
         }
-
-        // Restore original color
-        batch.setColor(originalColor);
     }
 
 
@@ -352,6 +325,11 @@ public class MapRenderer {
 
     public void setMap(IsometricMap map) {
         this.map = map;
+        this.objectIndex = null;
+        if (groundRenderer != null) {
+            groundRenderer.dispose();
+        }
+        this.groundRenderer = new ChunkedGroundRenderer(map);
     }
 
 
@@ -359,11 +337,11 @@ public class MapRenderer {
         if (backgroundTexture != null) {
             backgroundTexture.dispose();
         }
-        if (buttonTexture != null) {
-            buttonTexture.dispose();
+        if (groundRenderer != null) {
+            groundRenderer.dispose();
         }
         if (font != null) {
-            font.dispose();
+            assetManager.release(font);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package ctu.game.isometric.view.renderer;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import ctu.game.isometric.controller.EventManager;
+import ctu.game.isometric.model.world.IsometricMap;
+import ctu.game.isometric.model.world.MapEvent;
+
+import java.util.Map;
+
+// Draw records for the tile objects of an object layer, resolved once (region, iso rectangle, event)
+// and bucketed on a grid in iso space. Each frame only the buckets under the camera are visited,
+// so rendering never touches MapProperties or the tileset lookup.
+public class ObjectDrawIndex {
+    private static final float BUCKET_SIZE = 256f;
+
+    static class DrawRecord {
+        final int order;             // position in the layer, keeps Tiled's draw order
+        final TextureRegion region;
+        final float x, y, width, height;
+        final float footY;           // iso Y of the object's anchor cell, its depth in the render queue
+        final String eventId;        // null when the object is not tied to an event
+        MapEvent event;
+
+        DrawRecord(int order, TextureRegion region, float x, float y, float width, float height, float footY, String eventId) {
+            this.order = order;
+            this.region = region;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.footY = footY;
+            this.eventId = eventId;
+        }
+
+        // One-time events that are done are no longer drawn
+        boolean isHidden() {
+            return event != null && event.isOneTime() && event.isCompleted();
+        }
+    }
+
+    private final Array<DrawRecord> records = new Array<>();
+    private IntArray[] buckets;
+    private int bucketsX, bucketsY;
+    private float minX, minY;
+    private float maxWidth, maxHeight; // largest record, how far a record can reach out of its bucket
+
+    private EventManager eventManager;
+    private Map<String, MapEvent> resolvedEvents; // the event map the records were resolved against
+
+    private final IntArray visible = new IntArray();
+
+    public ObjectDrawIndex(IsometricMap map, String layerName, EventManager eventManager, MapRenderer renderer) {
+        build(map, layerName, renderer);
+        setEventManager(eventManager);
+    }
+
+    private void build(IsometricMap map, String layerName, MapRenderer renderer) {
+        MapLayer objectLayer = map.getTiledMap().getLayers().get(layerName);
+        if (objectLayer == null) {
+            buckets = new IntArray[0];
+            return;
+        }
+
+        int order = 0;
+        for (MapObject object : objectLayer.getObjects()) {
+            MapProperties properties = object.getProperties();
+            Float x = properties.get("x", Float.class);
+            Float y = properties.get("y", Float.class);
+            if (x == null || y == null || !properties.containsKey("gid")) continue;
+
+            TiledMapTile tile = map.getTiledMap().getTileSets().getTile(properties.get("gid", Integer.class));
+            if (tile == null) continue;
+
+            Float width = properties.get("width", Float.class);
+            Float height = properties.get("height", Float.class);
+            if (width == null) width = (float) map.getTileWidth();
+            if (height == null) height = (float) map.getTileHeight();
+
+            int[] gridPos = renderer.toGrid(x, y);
+            float[] isoPos = renderer.toIsometric(gridPos[0], gridPos[1]);
+            String eventId = properties.containsKey("id") ? String.valueOf(properties.get("id")) : null;
+
+            records.add(new DrawRecord(order++, tile.getTextureRegion(),
+                    isoPos[0] - width / 2,      // Center horizontally
+                    isoPos[1] - height / 4,     // Same alignment as the old per-frame path
+                    width, height, isoPos[1], eventId));
+        }
+
+        if (records.size == 0) {
+            buckets = new IntArray[0];
+            return;
+        }
+
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (DrawRecord record : records) {
+            minX = Math.min(minX, record.x);
+            minY = Math.min(minY, record.y);
+            maxX = Math.max(maxX, record.x);
+            maxY = Math.max(maxY, record.y);
+            maxWidth = Math.max(maxWidth, record.width);
+            maxHeight = Math.max(maxHeight, record.height);
+        }
+        bucketsX = (int) ((maxX - minX) / BUCKET_SIZE) + 1;
+        bucketsY = (int) ((maxY - minY) / BUCKET_SIZE) + 1;
+        buckets = new IntArray[bucketsX * bucketsY];
+        for (int i = 0; i < records.size; i++) {
+            DrawRecord record = records.get(i);
+            int bucket = bucketY(record.y) * bucketsX + bucketX(record.x);
+            if (buckets[bucket] == null) {
+                buckets[bucket] = new IntArray(false, 8);
+            }
+            buckets[bucket].add(i);
+        }
+    }
+
+    // Re-resolve the event of each record when the event manager (or its event map) was replaced
+    public void setEventManager(EventManager eventManager) {
+        this.eventManager = eventManager;
+        this.resolvedEvents = eventManager != null ? eventManager.getEvents() : null;
+        for (DrawRecord record : records) {
+            record.event = record.eventId != null && eventManager != null ? eventManager.getEvent(record.eventId) : null;
+        }
+    }
+
+    // Indices of the records that overlap the camera, in layer order. Valid until the next call.
+    public IntArray queryVisible(OrthographicCamera camera) {
+        visible.clear();
+        if (buckets.length == 0) return visible;
+        if (eventManager != null && eventManager.getEvents() != resolvedEvents) {
+            setEventManager(eventManager);
+        }
+
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        float left = camera.position.x - halfWidth;
+        float right = camera.position.x + halfWidth;
+        float bottom = camera.position.y - halfHeight;
+        float top = camera.position.y + halfHeight;
+
+        // Records are filed by their lower-left corner, so widen the search by the largest record
+        int fromX = bucketX(left - maxWidth), toX = bucketX(right);
+        int fromY = bucketY(bottom - maxHeight), toY = bucketY(top);
+        for (int by = fromY; by <= toY; by++) {
+            for (int bx = fromX; bx <= toX; bx++) {
+                IntArray bucket = buckets[by * bucketsX + bx];
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size; i++) {
+                    int index = bucket.get(i);
+                    DrawRecord record = records.get(index);
+                    if (record.x < right && record.x + record.width > left
+                            && record.y < top && record.y + record.height > bottom
+                            && !record.isHidden()) {
+                        visible.add(index);
+                    }
+                }
+            }
+        }
+        visible.sort();
+        return visible;
+    }
+
+    public void submit(RenderQueue queue, OrthographicCamera camera) {
+        IntArray indices = queryVisible(camera);
+        for (int i = 0; i < indices.size; i++) {
+            DrawRecord record = records.get(indices.get(i));
+            queue.submit(record.region, record.x, record.y, record.width, record.height, record.footY);
+        }
+    }
+
+    DrawRecord getRecord(int index) {
+        return records.get(index);
+    }
+
+    public int size() {
+        return records.size;
+    }
+
+    private int bucketX(float x) {
+        return Math.max(0, Math.min(bucketsX - 1, (int) ((x - minX) / BUCKET_SIZE)));
+    }
+
+    private int bucketY(float y) {
+        return Math.max(0, Math.min(bucketsY - 1, (int) ((y - minY) / BUCKET_SIZE)));
+    }
+}
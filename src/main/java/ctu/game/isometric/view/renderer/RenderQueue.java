@@ -0,0 +1,182 @@
+package ctu.game.isometric.view.renderer;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+// One draw list per frame for everything that stands on the map (tall tiles, objects, characters)
+// plus flat ground overlays. Drawables submit a region, a rectangle and the iso Y of their foot;
+// flush() radix-sorts back to front (higher on screen first) and draws it all in a single batch pass.
+// Ties on depth are ordered by texture so the batch switches textures as rarely as possible.
+public class RenderQueue {
+    // Sort key, most significant first: layer (1 bit) | depth (23 bits) | texture slot (8 bits)
+    public static final int LAYER_GROUND = 0;
+    public static final int LAYER_STANDING = 1;
+    private static final int DEPTH_BITS = 23;
+    private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+    private static final float DEPTH_STEPS_PER_PIXEL = 4f;
+
+    private TextureRegion[] regions;
+    private float[] bounds;      // x, y, width, height per entry
+    private float[] footY;
+    private float[] colors;      // packed
+    private int[] layers;
+    private int[] textureSlots;
+    private int size;
+
+    private int[] keys, sortedKeys;
+    private int[] order, sortedOrder;
+    private final int[] counts = new int[256];
+
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+    private int textureSwitches;
+
+    public RenderQueue() {
+        this(256);
+    }
+
+    public RenderQueue(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    // Start a new frame
+    public void begin() {
+        for (int i = 0; i < size; i++) {
+            regions[i] = null;
+        }
+        size = 0;
+        if (textureIds.size > 255) {
+            textureIds.clear();
+        }
+    }
+
+    public void submit(TextureRegion region, float x, float y, float width, float height, float footY) {
+        submit(region, x, y, width, height, footY, LAYER_STANDING, Color.WHITE_FLOAT_BITS);
+    }
+
+    public void submit(TextureRegion region, float x, float y, float width, float height, float footY, int layer, float packedColor) {
+        if (size == regions.length) {
+            grow();
+        }
+        regions[size] = region;
+        bounds[size * 4] = x;
+        bounds[size * 4 + 1] = y;
+        bounds[size * 4 + 2] = width;
+        bounds[size * 4 + 3] = height;
+        this.footY[size] = footY;
+        colors[size] = packedColor;
+        layers[size] = layer;
+        textureSlots[size] = textureSlot(region.getTexture());
+        size++;
+    }
+
+    // Sort and draw everything submitted since begin(); the batch must be drawing
+    public void flush(Batch batch) {
+        if (size == 0) return;
+        sort();
+
+        float previousColor = batch.getPackedColor();
+        Texture lastTexture = null;
+        textureSwitches = 0;
+        for (int i = 0; i < size; i++) {
+            int entry = order[i];
+            TextureRegion region = regions[entry];
+            if (region.getTexture() != lastTexture) {
+                lastTexture = region.getTexture();
+                textureSwitches++;
+            }
+            batch.setPackedColor(colors[entry]);
+            batch.draw(region, bounds[entry * 4], bounds[entry * 4 + 1], bounds[entry * 4 + 2], bounds[entry * 4 + 3]);
+        }
+        batch.setPackedColor(previousColor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Texture changes in the last flush, roughly the draw calls it cost
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    private void sort() {
+        // Depth grows downwards on screen: the highest foot is drawn first
+        float top = -Float.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            top = Math.max(top, footY[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            int depth = (int) ((top - footY[i]) * DEPTH_STEPS_PER_PIXEL);
+            depth = Math.min(MAX_DEPTH, Math.max(0, depth));
+            keys[i] = layers[i] << 31 | depth << 8 | textureSlots[i];
+            order[i] = i;
+        }
+
+        // LSD radix sort on the unsigned key, one byte per pass; stable, so equal keys keep submit order
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(keys[i] >>> shift) & 0xFF]++;
+            }
+            if (counts[(keys[0] >>> shift) & 0xFF] == size) continue; // every key has the same byte
+            int sum = 0;
+            for (int b = 0; b < 256; b++) {
+                int count = counts[b];
+                counts[b] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int bucket = (keys[i] >>> shift) & 0xFF;
+                int position = counts[bucket]++;
+                sortedKeys[position] = keys[i];
+                sortedOrder[position] = order[i];
+            }
+            int[] swapKeys = keys;
+            keys = sortedKeys;
+            sortedKeys = swapKeys;
+            int[] swapOrder = order;
+            order = sortedOrder;
+            sortedOrder = swapOrder;
+        }
+    }
+
+    private int textureSlot(Texture texture) {
+        int slot = textureIds.get(texture, -1);
+        if (slot < 0) {
+            slot = textureIds.size & 0xFF;
+            textureIds.put(texture, slot);
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        regions = new TextureRegion[capacity];
+        bounds = new float[capacity * 4];
+        footY = new float[capacity];
+        colors = new float[capacity];
+        layers = new int[capacity];
+        textureSlots = new int[capacity];
+        keys = new int[capacity];
+        sortedKeys = new int[capacity];
+        order = new int[capacity];
+        sortedOrder = new int[capacity];
+    }
+
+    private void grow() {
+        TextureRegion[] oldRegions = regions;
+        float[] oldBounds = bounds, oldFootY = footY, oldColors = colors;
+        int[] oldLayers = layers, oldSlots = textureSlots;
+        allocate(regions.length * 2);
+        System.arraycopy(oldRegions, 0, regions, 0, size);
+        System.arraycopy(oldBounds, 0, bounds, 0, size * 4);
+        System.arraycopy(oldFootY, 0, footY, 0, size);
+        System.arraycopy(oldColors, 0, colors, 0, size);
+        System.arraycopy(oldLayers, 0, layers, 0, size);
+        System.arraycopy(oldSlots, 0, textureSlots, 0, size);
+    }
+}
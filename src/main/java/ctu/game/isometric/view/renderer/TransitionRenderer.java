@@ -24,6 +24,7 @@ public class TransitionRenderer {
     private BitmapFont loadingFont;
     private String loadingText = "Loading....";
     private GlyphLayout glyphLayout = new GlyphLayout();
+    private static final float PROGRESS_BAR_HEIGHT = 6f;
 
     // Transition type enum
     public enum TransitionType {
@@ -91,7 +92,9 @@ public class TransitionRenderer {
     }
 
     public void render(SpriteBatch batch) {
-        if (alpha <= 0 && !showLoadingScreen) return;
+        // Background loading (e.g. the dictionary) keeps a thin bar on screen after the fade is over
+        boolean showProgress = loadingProgress > 0f && loadingProgress < 1f;
+        if (alpha <= 0 && !showLoadingScreen && !showProgress) return;
 
         boolean wasBatchDrawing = batch.isDrawing();
         if (wasBatchDrawing) batch.end();
@@ -109,6 +112,9 @@ public class TransitionRenderer {
                 renderRadialWipeTransition();
                 break;
         }
+        if (showProgress) {
+            renderProgressBar();
+        }
 
         shapeRenderer.end();
 
@@ -151,6 +157,14 @@ public class TransitionRenderer {
         this.loadingText = text;
     }
 
+    private void renderProgressBar() {
+        float width = Gdx.graphics.getWidth();
+        shapeRenderer.setColor(0.1f, 0.1f, 0.1f, 0.7f);
+        shapeRenderer.rect(0, 0, width, PROGRESS_BAR_HEIGHT);
+        shapeRenderer.setColor(0.9f, 0.75f, 0.3f, 1f);
+        shapeRenderer.rect(0, 0, width * loadingProgress, PROGRESS_BAR_HEIGHT);
+    }
+
     private void renderFadeTransition() {
         shapeRenderer.setColor(0, 0, 0, alpha);
         shapeRenderer.rect(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
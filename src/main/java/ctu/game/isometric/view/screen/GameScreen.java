@@ -10,6 +10,7 @@ import ctu.game.isometric.IsometricGame;
 import ctu.game.isometric.controller.GameController;
 import ctu.game.isometric.model.dictionary.Dictionary;
 import ctu.game.isometric.model.game.GameState;
+import ctu.game.isometric.util.FrameProfiler;
 import ctu.game.isometric.view.renderer.CharacterRenderer;
 import ctu.game.isometric.view.ui.DialogUI;
 import ctu.game.isometric.view.renderer.MapRenderer;
@@ -43,7 +44,7 @@ public class GameScreen implements Screen {
 
         batch = new SpriteBatch();
         // In GameScreen.java - when initializing MapRenderer
-        dialogUI = new DialogUI(gameController.getDialogController());
+        dialogUI = new DialogUI(gameController.getDialogController(), game.getAssetManager());
         gameController.getInputController().setDialogUI(dialogUI);
         // Set input processor
         Gdx.input.setInputProcessor(gameController.getInputController());
@@ -52,9 +53,12 @@ public class GameScreen implements Screen {
 
     @Override
     public void render(float delta) {
+        FrameProfiler profiler = game.getFrameProfiler();
         // Cập nhật game
         gameController.update(delta);
+        profiler.begin(FrameProfiler.Phase.TRANSITION);
         gameController.getTransitionController().update(delta);
+        profiler.end(FrameProfiler.Phase.TRANSITION);
         // Chỉ khởi tạo 1 lần khi gameController vừa tạo xong
 
         if (gameController.isCreated()) {
@@ -76,6 +80,9 @@ public class GameScreen implements Screen {
 
 
 
+            if (gameController.getInventoryUI() != null) {
+                gameController.getInventoryUI().dispose();
+            }
             InventoryUI inventoryUI = new InventoryUI(gameController);
             gameController.setInventoryUI(inventoryUI);
 
@@ -89,7 +96,7 @@ public class GameScreen implements Screen {
 //            }
 
 
-            dialogUI = new DialogUI(gameController.getDialogController());
+            dialogUI = new DialogUI(gameController.getDialogController(), game.getAssetManager());
             gameController.getInputController().setDialogUI(dialogUI);
 
 
@@ -113,8 +120,11 @@ public class GameScreen implements Screen {
 
         currentState = gameController.getCurrentState();
         if (gameController.getTransitionController().isTransitioning()) {
+            profiler.begin(FrameProfiler.Phase.TRANSITION);
             gameController.getTransitionController().render(batch);
+            profiler.end(FrameProfiler.Phase.TRANSITION);
         } else {
+            profiler.begin(FrameProfiler.Phase.SCREEN);
             switch (currentState) {
                 case MAIN_MENU:
                     gameController.getMainMenuController().render(batch);
@@ -125,7 +135,15 @@ public class GameScreen implements Screen {
                 case EXPLORING:
                     gameController.setCharacterCreationController(null);
                     gameController.setLoadGameController(null);
+                    profiler.begin(FrameProfiler.Phase.MAP);
                     mapRenderer.render(batch);
+                    profiler.end(FrameProfiler.Phase.MAP);
+
+                    // Objects, tall tiles and the character are drawn together, sorted by depth
+                    profiler.begin(FrameProfiler.Phase.OBJECTS);
+                    if (characterRenderer != null) characterRenderer.submit(mapRenderer.getRenderQueue());
+                    mapRenderer.flushRenderQueue(batch);
+                    profiler.end(FrameProfiler.Phase.OBJECTS);
 
                     if (gameController.hasActiveEvent()) {
                         mapRenderer.renderActionButton(
@@ -137,15 +155,15 @@ public class GameScreen implements Screen {
                         );
                     }
 
-                    if (characterRenderer != null) characterRenderer.render(batch);
-
                     // End the batch before rendering UI
                     batch.end();
 
                     // Render the UI on top
 
 
+                    profiler.begin(FrameProfiler.Phase.EXPLORING_UI);
                     if (exploringUI != null) exploringUI.render();
+                    profiler.end(FrameProfiler.Phase.EXPLORING_UI);
 
                     if (gameController.getInventoryUI() != null) {
                         gameController.getInventoryUI().render(batch);
@@ -156,10 +174,14 @@ public class GameScreen implements Screen {
 
                     if (dialogUI != null && gameController.getDialogController().isDialogActive()) {
 
+                        profiler.begin(FrameProfiler.Phase.DIALOG_UI);
                         dialogUI.render();
+                        profiler.end(FrameProfiler.Phase.DIALOG_UI);
+                        profiler.begin(FrameProfiler.Phase.EFFECTS);
                         batch.begin();
                         gameController.getEffectManager().render(batch);
                         batch.end();
+                        profiler.end(FrameProfiler.Phase.EFFECTS);
                     }
 
 
@@ -192,6 +214,9 @@ public class GameScreen implements Screen {
                 default:
                     break;
             }
+            profiler.end(FrameProfiler.Phase.SCREEN);
+            // Only draws while something loads in the background, e.g. the dictionary after a save is loaded
+            gameController.getTransitionController().render(batch);
         }
         batch.end();
     }
@@ -21,7 +21,12 @@ public class SplashScreen implements Screen {
         this.game = game;
         this.gameController = gameController;
         batch = new SpriteBatch();
-        splashTexture = new Texture(Gdx.files.internal("backgrounds/main_menu_bg.png")); // Add a splash.png to your assets folder
+        splashTexture = game.getAssetManager().acquireTexture("backgrounds/main_menu_bg.png"); // Add a splash.png to your assets folder
+
+        // Load the fonts the game screen needs on first entry while the splash is up
+        game.getAssetManager().queueFont("GrenzeGotisch.ttf", 20);
+        game.getAssetManager().queueFont("GrenzeGotisch.ttf", 18);
+        game.getAssetManager().queueFont("ModernAntiqua-Regular.ttf", 20);
     }
 
     @Override
@@ -32,6 +37,7 @@ public class SplashScreen implements Screen {
 
         // Update timer
         timer += delta;
+        boolean loaded = game.getAssetManager().update();
 
         // Render splash image
         batch.begin();
@@ -39,7 +45,7 @@ public class SplashScreen implements Screen {
         batch.end();
 
         // After 1 second, switch to game screen
-        if (timer >= SPLASH_DURATION) {
+        if (timer >= SPLASH_DURATION && loaded) {
             GameScreen gameScreen = new GameScreen(game, gameController);
             game.setGameScreen(gameScreen);
             game.setScreen(gameScreen);
@@ -70,6 +76,6 @@ public class SplashScreen implements Screen {
     @Override
     public void dispose() {
         batch.dispose();
-        splashTexture.dispose();
+        game.getAssetManager().release(splashTexture);
     }
 }
\ No newline at end of file
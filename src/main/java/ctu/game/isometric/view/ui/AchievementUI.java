@@ -2,11 +2,10 @@ package ctu.game.isometric.view.ui;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
@@ -21,8 +20,6 @@ import ctu.game.isometric.model.game.Achievement;
 import java.util.HashMap;
 import java.util.Map;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class AchievementUI {
     private final GameController gameController;
     private final AchievementManager achievementManager;
@@ -32,10 +29,10 @@ public class AchievementUI {
     private Viewport viewport;
     private BitmapFont titleFont, regularFont;
     private GlyphLayout layout;
-    private Texture whiteTexture;
-    private Texture panelTexture;
-    private Texture closeButtonTexture;
-    private Map<String, Texture> iconCache = new HashMap<>();
+    private TextureRegion whiteTexture;
+    private TextureRegion panelTexture;
+    private TextureRegion closeButtonTexture;
+    private Map<String, TextureRegion> iconCache = new HashMap<>();
 
     private Rectangle closeButtonRect;
     private int currentPage = 0;
@@ -51,20 +48,14 @@ public class AchievementUI {
 
     private void initializeUI() {
         viewport = new FitViewport(1280, 720);
-        titleFont = generateVietNameseFont("Tektur-Bold.ttf", 24);
-        regularFont = generateVietNameseFont("Tektur-Bold.ttf", 16);
+        titleFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", 24);
+        regularFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", 16);
         layout = new GlyphLayout();
 
-        // Create white texture for drawing colored rectangles
-        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pixmap.setColor(Color.WHITE);
-        pixmap.fill();
-        whiteTexture = new Texture(pixmap);
-        pixmap.dispose();
-
-        // Load UI textures
-        panelTexture = new Texture(Gdx.files.internal("ui/message_box.png"));
-        closeButtonTexture = new Texture(Gdx.files.internal("ui/close_button.png"));
+        // White pixel for colored rectangles and the UI textures, all on the shared atlas
+        whiteTexture = gameController.getAssetManager().getWhiteRegion();
+        panelTexture = gameController.getAssetManager().getRegion("ui/message_box.png");
+        closeButtonTexture = gameController.getAssetManager().getRegion("ui/close_button.png");
 
         // Initialize close button
         closeButtonRect = new Rectangle(1180, 620, 50, 50);
@@ -150,7 +141,7 @@ public class AchievementUI {
                 drawRect(batch, startX, achY, achievementWidth, achievementHeight - 10, 2);
 
                 // Draw achievement icon
-                Texture iconTexture = getAchievementIcon(achievement.getIconPath());
+                TextureRegion iconTexture = getAchievementIcon(achievement.getIconPath());
                 if (iconTexture != null) {
                     batch.setColor(Color.WHITE);
                     batch.draw(iconTexture, startX + 15, achY + 15, 60, 60);
@@ -269,12 +260,12 @@ public class AchievementUI {
         return false;
     }
 
-    private Texture getAchievementIcon(String path) {
+    private TextureRegion getAchievementIcon(String path) {
         if (path == null) return null;
 
         if (!iconCache.containsKey(path)) {
             try {
-                iconCache.put(path, new Texture(Gdx.files.internal(path)));
+                iconCache.put(path, gameController.getAssetManager().getRegion(path));
             } catch (Exception e) {
                 Gdx.app.error("AchievementUI", "Could not load icon: " + path);
                 return null;
@@ -357,13 +348,9 @@ public class AchievementUI {
     }
 
     public void dispose() {
-        whiteTexture.dispose();
-        panelTexture.dispose();
-        closeButtonTexture.dispose();
-
-        for (Texture texture : iconCache.values()) {
-            texture.dispose();
-        }
+        // Regions and fonts are owned by the AssetManager
         iconCache.clear();
+        gameController.getAssetManager().release(titleFont);
+        gameController.getAssetManager().release(regularFont);
     }
 }
\ No newline at end of file
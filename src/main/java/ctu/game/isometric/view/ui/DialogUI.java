@@ -9,19 +9,22 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import ctu.game.isometric.controller.DialogController;
 import ctu.game.isometric.model.dialog.Dialog;
 import ctu.game.isometric.model.dialog.Choice;
+import ctu.game.isometric.util.AssetManager;
 
+import java.util.HashSet;
 import java.util.List;
-
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
+import java.util.Set;
 
 public class DialogUI {
     private DialogController dialogController;
+    private AssetManager assetManager;
     private BitmapFont font;
     private SpriteBatch batch;
     private ShapeRenderer shapeRenderer;
 
     private Texture characterImage;
     private String currentImagePath;
+    private final Set<String> failedImagePaths = new HashSet<>();
 
     // UI dimensions
     private static final int DIALOG_BOX_X = 50;
@@ -44,12 +47,14 @@ public class DialogUI {
     private BitmapFont promptFont;
 
 
-    public DialogUI(DialogController dialogController) {
+    public DialogUI(DialogController dialogController, AssetManager assetManager) {
         this.dialogController = dialogController;
+        this.assetManager = assetManager;
 
-        this.dialogFont = generateVietNameseFont("GrenzeGotisch.ttf", 20);
-        this.nameFont = generateVietNameseFont("GrenzeGotisch.ttf", 18);
-        this.promptFont = generateVietNameseFont("GrenzeGotisch.ttf", 18);
+        // Shared handles: nameFont and promptFont are the same font, each holding one reference
+        this.dialogFont = assetManager.acquireFont("GrenzeGotisch.ttf", 20);
+        this.nameFont = assetManager.acquireFont("GrenzeGotisch.ttf", 18);
+        this.promptFont = assetManager.acquireFont("GrenzeGotisch.ttf", 18);
 
         this.batch = new SpriteBatch();
         this.shapeRenderer = new ShapeRenderer();
@@ -58,19 +63,21 @@ public class DialogUI {
     private void loadCharacterImage(String imagePath) {
         // Don't reload the same image
         imagePath = "characters/" + imagePath;
-        if (imagePath != null && !imagePath.equals(currentImagePath)) {
-            // Dispose previous image to avoid memory leaks
+        if (imagePath != null && !imagePath.equals(currentImagePath) && !failedImagePaths.contains(imagePath)) {
+            // Release previous image to avoid memory leaks
             if (characterImage != null) {
-                characterImage.dispose();
+                assetManager.release(characterImage);
                 characterImage = null;
             }
 
             try {
-                characterImage = new Texture(Gdx.files.internal(imagePath));
+                characterImage = assetManager.acquireTexture(imagePath);
                 currentImagePath = imagePath;
                 Gdx.app.log("DialogUI", "Loaded character image: " + imagePath);
             } catch (Exception e) {
                 Gdx.app.error("DialogUI", "Failed to load character image: " + imagePath, e);
+                // Called every frame; a missing image is reported once, not reloaded 60 times a second
+                failedImagePaths.add(imagePath);
                 characterImage = null;
                 currentImagePath = null;
             }
@@ -191,11 +198,11 @@ public class DialogUI {
     }
 
     public void dispose() {
-        dialogFont.dispose();
-        nameFont.dispose();
-        promptFont.dispose();
+        assetManager.release(dialogFont);
+        assetManager.release(nameFont);
+        assetManager.release(promptFont);
         batch.dispose();
         shapeRenderer.dispose();
-        if (characterImage != null) characterImage.dispose();
+        assetManager.release(characterImage);
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
@@ -12,6 +13,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import ctu.game.isometric.controller.GameController;
 import ctu.game.isometric.model.entity.Character;
+import ctu.game.isometric.util.FontGenerator;
 
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -41,9 +43,13 @@ public class ExploringUI {
     private Table topRightTable;
 
     // Textures
-    private Texture timeFrameTexture;
-    private Texture healthBarTexture;
-    private Texture questBoxTexture;
+    private TextureRegion timeFrameTexture;
+    private TextureRegion healthBarTexture;
+    private TextureRegion questBoxTexture;
+
+    // Fonts, shared through the AssetManager (not owned by the skin)
+    private BitmapFont customFont;
+    private BitmapFont titleFont;
 
     // UI visibility control
     private boolean uiVisible = true;
@@ -59,22 +65,21 @@ public class ExploringUI {
     }
 
     private void loadTextures() {
-        timeFrameTexture = new Texture(Gdx.files.internal("ui/time_frame.png"));
-        healthBarTexture = new Texture(Gdx.files.internal("ui/health_bar.png"));
-        questBoxTexture = new Texture(Gdx.files.internal("ui/quest_box.png"));
+        timeFrameTexture = gameController.getAssetManager().getRegion("ui/time_frame.png");
+        healthBarTexture = gameController.getAssetManager().getRegion("ui/health_bar.png");
+        questBoxTexture = gameController.getAssetManager().getRegion("ui/quest_box.png");
     }
 
     private void createSkin() {
         skin = new Skin();
 
         // Load custom font
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/Tektur-Bold.ttf"));
         FreeTypeFontGenerator.FreeTypeFontParameter params = new FreeTypeFontGenerator.FreeTypeFontParameter();
         params.size = 16;
         params.color = Color.WHITE;
         params.borderWidth = 1;
         params.borderColor = Color.BLACK;
-        BitmapFont customFont = generator.generateFont(params);
+        customFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", "hud-outline", FontGenerator.incremental(params));
 
         // Create another font for different purposes if needed
         FreeTypeFontGenerator.FreeTypeFontParameter titleParams = new FreeTypeFontGenerator.FreeTypeFontParameter();
@@ -82,12 +87,7 @@ public class ExploringUI {
         titleParams.color = Color.WHITE;
         titleParams.borderWidth = 1.5f;
         titleParams.borderColor = Color.BLACK;
-        BitmapFont titleFont = generator.generateFont(titleParams);
-
-        generator.dispose();
-
-        skin.add("default-font", customFont);
-        skin.add("title-font", titleFont);
+        titleFont = gameController.getAssetManager().acquireFont("Tektur-Bold.ttf", "hud-outline", FontGenerator.incremental(titleParams));
 
         // Create label styles
         Label.LabelStyle defaultStyle = new Label.LabelStyle();
@@ -168,8 +168,8 @@ public class ExploringUI {
         timeFrameImage = new Image(new TextureRegionDrawable(timeFrameTexture));
         timeLabel = new Label("12:00", skin, "time");
 
-        float healthBarWidth = healthBarTexture.getWidth();
-        float healthBarHeight = healthBarTexture.getHeight();
+        float healthBarWidth = healthBarTexture.getRegionWidth();
+        float healthBarHeight = healthBarTexture.getRegionHeight();
 
         // Stack time label on top of the frame
         Stack timeStack = new Stack();
@@ -290,7 +290,7 @@ public class ExploringUI {
             Table healthIndicatorTable = new Table();
             healthIndicatorTable.left().top(); // Align the table itself
             healthIndicatorTable.add(healthIndicator)
-                    .width((healthBarTexture.getWidth() - 12) * (health / 100f))
+                    .width((healthBarTexture.getRegionWidth() - 12) * (health / 100f))
                     .height(11)
                     .padLeft(6) // Add correct padding to match initial setup
                     .padTop(3)  // Add correct padding to match initial setup
@@ -351,8 +351,7 @@ public class ExploringUI {
     public void dispose() {
         stage.dispose();
         skin.dispose();
-        timeFrameTexture.dispose();
-        healthBarTexture.dispose();
-        questBoxTexture.dispose();
+        gameController.getAssetManager().release(customFont);
+        gameController.getAssetManager().release(titleFont);
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package ctu.game.isometric.view.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import ctu.game.isometric.util.AssetManager;
+import ctu.game.isometric.util.FrameProfiler;
+
+// Frame stats in the top-left corner (F3): FPS, GL draw calls, texture binds, atlas pages, the
+// memory held by the shared textures and fonts, and p50/p99 of each profiled phase over the last
+// few seconds. F4 exports the buffered frames to CSV while the overlay is open.
+// The GL counters cover everything drawn since the previous frame's reset, i.e. one whole frame.
+public class FrameStatsOverlay {
+    private static final float REFRESH_INTERVAL = 0.5f; // percentiles are re-sorted twice a second
+
+    private final GLProfiler profiler;
+    private final FrameProfiler frameProfiler;
+    private final AssetManager assetManager;
+    private final SpriteBatch batch;
+    private final BitmapFont font;
+    private final Matrix4 projection = new Matrix4();
+    private final StringBuilder text = new StringBuilder(128);
+    private final StringBuilder phaseText = new StringBuilder(512);
+    private float refreshTimer = 0;
+    private boolean visible = false;
+
+    public FrameStatsOverlay(AssetManager assetManager, FrameProfiler frameProfiler) {
+        this.assetManager = assetManager;
+        this.frameProfiler = frameProfiler;
+        this.profiler = new GLProfiler(Gdx.graphics);
+        this.batch = new SpriteBatch();
+        this.font = new BitmapFont();
+        font.setColor(Color.YELLOW);
+    }
+
+    // Call once per frame after the game has drawn
+    public void render() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            visible = !visible;
+            if (visible) {
+                profiler.enable();
+                frameProfiler.clear();
+                refreshTimer = 0;
+            } else {
+                profiler.disable();
+            }
+            frameProfiler.setEnabled(visible);
+        }
+        if (!visible) return;
+
+        // Read the counters before the overlay's own draw call is added to them
+        int drawCalls = profiler.getDrawCalls();
+        int textureBindings = profiler.getTextureBindings();
+        frameProfiler.endFrame(drawCalls, textureBindings);
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            frameProfiler.exportCsv();
+        }
+
+        refreshTimer -= Gdx.graphics.getDeltaTime();
+        if (refreshTimer <= 0) {
+            refreshTimer = REFRESH_INTERVAL;
+            buildPhaseText();
+        }
+
+        text.setLength(0);
+        text.append("FPS: ").append(Gdx.graphics.getFramesPerSecond())
+                .append("\nDraw calls: ").append(drawCalls)
+                .append("\nTexture binds: ").append(textureBindings)
+                .append("\nAtlas pages: ").append(assetManager.getAtlasPageCount())
+                .append("\nAssets: ").append(assetManager.getMemoryReport())
+                .append(phaseText);
+
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        font.draw(batch, text, 10, Gdx.graphics.getHeight() - 10);
+        batch.end();
+
+        profiler.reset();
+    }
+
+    private void buildPhaseText() {
+        phaseText.setLength(0);
+        phaseText.append("\n\nPhase (ms)   p50 / p99, ").append(frameProfiler.getSampleCount()).append(" frames");
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            phaseText.append('\n').append(phase.label).append(": ");
+            appendMillis(frameProfiler.getPercentile(phase, 0.5f));
+            phaseText.append(" / ");
+            appendMillis(frameProfiler.getPercentile(phase, 0.99f));
+        }
+        phaseText.append("\nAvg draw calls: ").append((int) frameProfiler.getAverageDrawCalls())
+                .append(", binds: ").append((int) frameProfiler.getAverageTextureBindings())
+                .append("\nHeap churn: ").append((int) (frameProfiler.getAverageHeapChurn() / 1024)).append(" KB/frame")
+                .append("\nF4: export CSV");
+    }
+
+    // Two decimals without String.format
+    private void appendMillis(float millis) {
+        int hundredths = Math.round(millis * 100);
+        phaseText.append(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        if (fraction < 10) phaseText.append('0');
+        phaseText.append(fraction);
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void dispose() {
+        profiler.disable();
+        frameProfiler.setEnabled(false);
+        batch.dispose();
+        font.dispose();
+    }
+}
@@ -2,9 +2,9 @@ package ctu.game.isometric.view.ui;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
@@ -23,9 +23,9 @@ public class InventoryUI {
     private BitmapFont font;
     private boolean visible = false;
 
-    private Texture backgroundTexture;
-    private Texture itemSlotTexture;
-    private Texture itemSlotSelected;
+    private TextureRegion backgroundTexture;
+    private TextureRegion itemSlotTexture;
+    private TextureRegion itemSlotSelected;
     private ShapeRenderer shapeRenderer;
 
     private int selectedItemIndex = -1;
@@ -41,7 +41,7 @@ public class InventoryUI {
     private static final int SLOT_SIZE = 64;
     private static final int PADDING = 10;
 
-    private Map<String, Texture> itemTextures = new HashMap<>();
+    private Map<String, TextureRegion> itemTextures = new HashMap<>();
     private boolean inventoryDirty = true;
     private Matrix4 uiMatrix;
 
@@ -65,10 +65,10 @@ public class InventoryUI {
         // Create projection matrix once
         uiMatrix = new Matrix4().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
-        // Load textures
-        backgroundTexture = new Texture(Gdx.files.internal("ui/inventory_bg.png"));
-        itemSlotTexture = new Texture(Gdx.files.internal("ui/item_slot.png"));
-        itemSlotSelected = new Texture(Gdx.files.internal("ui/item_slot_select.png"));
+        // Load textures (regions on the shared atlas)
+        backgroundTexture = gameController.getAssetManager().getRegion("ui/inventory_bg.png");
+        itemSlotTexture = gameController.getAssetManager().getRegion("ui/item_slot.png");
+        itemSlotSelected = gameController.getAssetManager().getRegion("ui/item_slot_select.png");
 
         // Calculate inventory bounds
         float screenWidth = Gdx.graphics.getWidth();
@@ -193,7 +193,7 @@ public class InventoryUI {
             // Draw item icon
             Items item = ItemLoader.getItemByName(itemName);
             if (item != null && item.getTexturePath() != null) {
-                Texture itemTexture = getItemTexture(item.getTexturePath());
+                TextureRegion itemTexture = getItemTexture(item.getTexturePath());
                 batch.draw(itemTexture,
                         itemSlots[index].x + 8,
                         itemSlots[index].y + 8,
@@ -253,9 +253,9 @@ public class InventoryUI {
         }
     }
 
-    private Texture getItemTexture(String texturePath) {
+    private TextureRegion getItemTexture(String texturePath) {
         if (!itemTextures.containsKey(texturePath)) {
-            itemTextures.put(texturePath, new Texture(Gdx.files.internal(texturePath)));
+            itemTextures.put(texturePath, gameController.getAssetManager().getRegion(texturePath));
         }
         return itemTextures.get(texturePath);
     }
@@ -385,14 +385,7 @@ public class InventoryUI {
     }
 
     public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (itemSlotTexture != null) itemSlotTexture.dispose();
-        if (itemSlotSelected != null) itemSlotSelected.dispose();
-
-        // Dispose all cached item textures
-        for (Texture texture : itemTextures.values()) {
-            if (texture != null) texture.dispose();
-        }
+        // Textures belong to the AssetManager, only drop the lookups
         itemTextures.clear();
 
         if (font != null) font.dispose();
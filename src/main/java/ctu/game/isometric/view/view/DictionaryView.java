@@ -23,8 +23,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-import static ctu.game.isometric.util.FontGenerator.generateVietNameseFont;
-
 public class DictionaryView {
     private final GameController gameController;
     private final Dictionary dictionary;
@@ -59,6 +57,7 @@ public class DictionaryView {
     private int wordListStartIndex = 0;
     private static final int WORDS_PER_PAGE = 14;
     private BitmapFont labelFont;
+    private boolean sharedLabelFont = false; // from the AssetManager, released instead of disposed
     private boolean isSearchFocused = false;
     int newLearnedWords = 0;
 
@@ -72,7 +71,8 @@ public class DictionaryView {
         newLearnedWords = 0;
 
         try {
-            this.labelFont = generateVietNameseFont("ModernAntiqua-Regular.ttf", 20);
+            this.labelFont = gameController.getAssetManager().acquireFont("ModernAntiqua-Regular.ttf", 20);
+            this.sharedLabelFont = true;
         } catch (Exception e) {
             this.labelFont = new BitmapFont();
             this.labelFont.getData().setScale(1.2f);
@@ -290,6 +290,14 @@ public class DictionaryView {
         }
     }
 
+    // Learned words arriving from the background loader. Appended instead of rebuilding the list so
+    // the scroll position and selection stay put; a search in progress is left alone.
+    public void onLearnedWordsLoaded(List<Word> words) {
+        if (showingLearnedWords && searchText.isEmpty()) {
+            displayedWords.addAll(words);
+        }
+    }
+
     public void addNewWord(String word){
         if (word == null || word.isEmpty()) {
             return;
@@ -532,7 +540,9 @@ public class DictionaryView {
 
     public void dispose() {
         shapeRenderer.dispose();
-        if (labelFont != null) {
+        if (sharedLabelFont) {
+            gameController.getAssetManager().release(labelFont);
+        } else if (labelFont != null) {
             labelFont.dispose();
         }
     }